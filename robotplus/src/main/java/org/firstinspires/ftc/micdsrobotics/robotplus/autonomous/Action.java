@@ -0,0 +1,151 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.autonomous;
+
+/**
+ * An {@link AutonomousGoal} that actually does something, a little at a time. Instead of blocking
+ * until it's done, an action gets {@link Action#update()} called once per loop by an
+ * {@link ActionScheduler} (or a group it is in) until {@link Action#isFinished()} says it's done,
+ * so drive moves, mechanism moves and sensor waits can all run at the same time.
+ * <p>
+ * None of the hooks should block or sleep; do a little work and return.
+ * @since 10/19/26
+ */
+public abstract class Action extends AutonomousGoal {
+
+    /**
+     * Where an action is in its life
+     */
+    public enum State {
+        WAITING,
+        RUNNING,
+        FINISHED,
+        TIMED_OUT,
+        CANCELLED
+    }
+
+    private State state = State.WAITING;
+    private long startTime;
+
+    /**
+     * the longest the action may run, in nanoseconds, or 0 for no limit
+     */
+    private long timeoutNanos;
+
+    /**
+     * @param goal what the action does
+     */
+    public Action(String goal) {
+        super(goal);
+    }
+
+    /**
+     * @param goal what the action does
+     * @param step the step it runs at, for {@link SequentialAction#fromSteps}
+     */
+    public Action(String goal, int step) {
+        super(goal, step);
+    }
+
+    /**
+     * Called once, on the first loop the action runs
+     */
+    protected void start() { }
+
+    /**
+     * Called every loop while the action runs, including the first
+     */
+    protected abstract void update();
+
+    /**
+     * Checked every loop after {@link Action#update()}
+     * @return whether the action is done
+     */
+    protected abstract boolean isFinished();
+
+    /**
+     * Called once when the action stops, i.e. to stop the motors it was running
+     * @param interrupted true if it timed out or was cancelled instead of finishing
+     */
+    protected void end(boolean interrupted) { }
+
+    /**
+     * Sets the longest the action may run before it is stopped
+     * @param timeoutMillis the timeout, in milliseconds, or 0 for no limit
+     * @return this action, for chaining
+     */
+    public Action withTimeout(long timeoutMillis) {
+        this.timeoutNanos = timeoutMillis * 1000000L;
+        return this;
+    }
+
+    /**
+     * Runs one loop of the action: starts it if needed, updates it, and ends it if it's done or out of time
+     * @param now the loop time, from {@link System#nanoTime()}
+     * @return whether the action is over
+     */
+    final boolean tick(long now) {
+        if (isDone()) {
+            return true;
+        }
+        if (state == State.WAITING) {
+            state = State.RUNNING;
+            startTime = now;
+            start();
+        }
+
+        update();
+        if (isFinished()) {
+            state = State.FINISHED;
+            end(false);
+        } else if (timeoutNanos > 0 && now - startTime >= timeoutNanos) {
+            state = State.TIMED_OUT;
+            end(true);
+        }
+        return isDone();
+    }
+
+    /**
+     * Stops the action if it is running; it won't run again until it is reset
+     */
+    public void cancel() {
+        if (state == State.RUNNING) {
+            state = State.CANCELLED;
+            end(true);
+        } else if (state == State.WAITING) {
+            state = State.CANCELLED;
+        }
+    }
+
+    /**
+     * Lets an action that is over run again from the start
+     */
+    public void reset() {
+        state = State.WAITING;
+    }
+
+    /**
+     * @return where the action is in its life
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return whether the action is over, however it ended
+     */
+    public boolean isDone() {
+        return state == State.FINISHED || state == State.TIMED_OUT || state == State.CANCELLED;
+    }
+
+    /**
+     * @param now the time, from {@link System#nanoTime()}
+     * @return how long the action has been running, in milliseconds, or 0 if it hasn't started
+     */
+    public long getElapsedMillis(long now) {
+        return state == State.WAITING ? 0 : (now - startTime) / 1000000L;
+    }
+
+    @Override
+    public String toString() {
+        return getGoal() + " (" + state + ")";
+    }
+}
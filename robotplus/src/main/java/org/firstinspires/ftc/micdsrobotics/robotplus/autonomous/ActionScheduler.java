@@ -0,0 +1,93 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.autonomous;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs {@link Action}s cooperatively: call {@link ActionScheduler#update()} once per loop and every
+ * scheduled action gets one update, so they all make progress together instead of one at a time.
+ * Actions that are over are dropped. Nothing here blocks, and an update doesn't allocate.
+ * <p>
+ * In a LinearOpMode, this replaces a string of blocking moves and sleeps with:
+ * <pre>
+ *     scheduler.schedule(new SequentialAction("auto", drive, new ParallelAction("score", lift, intake)));
+ *     while (opModeIsActive() &amp;&amp; !scheduler.isIdle()) {
+ *         scheduler.update();
+ *         telemetry.update();
+ *     }
+ * </pre>
+ * @since 10/19/26
+ */
+public class ActionScheduler {
+
+    private final List<Action> running = new ArrayList<>();
+
+    /**
+     * Starts running an action on the next update. It is reset first, so an action can be scheduled again after it is over.
+     * @param action the action to run
+     */
+    public void schedule(Action action) {
+        action.reset();
+        running.add(action);
+    }
+
+    /**
+     * Gives every running action one update, and drops the ones that are over
+     */
+    public void update() {
+        long now = System.nanoTime();
+        // Indexed, since actions may schedule more actions while they run
+        for (int i = 0; i < running.size(); i++) {
+            if (running.get(i).tick(now)) {
+                running.remove(i);
+                i--;
+            }
+        }
+    }
+
+    /**
+     * Cancels an action and stops running it
+     * @param action the action to cancel
+     */
+    public void cancel(Action action) {
+        if (running.remove(action)) {
+            action.cancel();
+        }
+    }
+
+    /**
+     * Cancels every running action, i.e. when the OpMode is stopping
+     */
+    public void cancelAll() {
+        for (int i = running.size() - 1; i >= 0; i--) {
+            running.remove(i).cancel();
+        }
+    }
+
+    /**
+     * @return whether there's nothing left to run
+     */
+    public boolean isIdle() {
+        return running.isEmpty();
+    }
+
+    /**
+     * @return how many actions are running
+     */
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    /**
+     * Gets a short description of what is running, for telemetry
+     * @return the running actions, one per line
+     */
+    public String getStatus() {
+        StringBuilder builder = new StringBuilder();
+        for (Action action : running) {
+            if (builder.length() > 0) builder.append('\n');
+            builder.append(action.getGoal());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,298 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.autonomous;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a whole autonomous route as a graph instead of a list. Each goal says which goals have to be
+ * done before it and which subsystems (the drivetrain, an intake, a {@link org.firstinspires.ftc.micdsrobotics.robotplus.hardware.CRServoPair}...)
+ * it needs. Every loop, any goal whose dependencies are done and whose subsystems are free starts,
+ * so everything that can run at the same time does.
+ * <p>
+ * When more goals are ready than there are free subsystems, the ones with the longest chain of work
+ * still behind them go first, since they are the ones that decide when the route ends. That chain, for
+ * the whole route, is the critical path: {@link GoalPlanner#getCriticalPath()}.
+ * <p>
+ * The planner is an {@link Action} itself, so it runs on an {@link ActionScheduler} like anything else.
+ * A goal that times out counts as done, so the goals after it still run.
+ * @since 10/19/26
+ */
+public class GoalPlanner extends Action {
+
+    /**
+     * One goal in the graph
+     */
+    public static final class Goal {
+        private final GoalPlanner planner;
+        private final Action action;
+        private final long estimatedMillis;
+        private final Object[] subsystems;
+        private final List<Goal> dependencies = new ArrayList<>();
+
+        /**
+         * the estimated time from when this goal starts until the route is done, in milliseconds
+         */
+        private long remainingMillis;
+        private Goal next;
+        private boolean started;
+        private boolean done;
+
+        private Goal(GoalPlanner planner, Action action, long estimatedMillis, Object[] subsystems) {
+            this.planner = planner;
+            this.action = action;
+            this.estimatedMillis = estimatedMillis;
+            this.subsystems = subsystems;
+        }
+
+        /**
+         * Makes this goal wait for others to be done. The planner plans again the next time it is asked.
+         * @param goals the goals that have to be done first
+         * @return this goal, for chaining
+         */
+        public Goal after(Goal... goals) {
+            dependencies.addAll(Arrays.asList(goals));
+            planner.order = null;
+            return this;
+        }
+
+        /**
+         * @return the action that does the work
+         */
+        public Action getAction() {
+            return action;
+        }
+
+        /**
+         * @return how long the action was expected to take, in milliseconds
+         */
+        public long getEstimatedMillis() {
+            return estimatedMillis;
+        }
+
+        /**
+         * @return whether the action has been started
+         */
+        public boolean isStarted() {
+            return started;
+        }
+
+        /**
+         * @return whether the action is over
+         */
+        public boolean isDone() {
+            return done;
+        }
+    }
+
+    private final List<Goal> goals = new ArrayList<>();
+
+    /**
+     * the goals in the order to try starting them: dependencies first, then longest remaining work first
+     */
+    private Goal[] order;
+    private final List<Goal> running = new ArrayList<>();
+    private final Map<Object, Goal> owners = new IdentityHashMap<>();
+    private int doneCount;
+
+    /**
+     * @param goal the name of the whole route
+     */
+    public GoalPlanner(String goal) {
+        super(goal);
+    }
+
+    /**
+     * Adds a goal to the route
+     * @param action what the goal does
+     * @param estimatedMillis about how long it takes, in milliseconds, for working out the critical path
+     * @param subsystems the subsystems it needs to itself while it runs
+     * @return the goal, to add dependencies to with {@link Goal#after(Goal...)}
+     */
+    public Goal add(Action action, long estimatedMillis, Object... subsystems) {
+        Goal goal = new Goal(this, action, estimatedMillis, subsystems);
+        goals.add(goal);
+        order = null;
+        return goal;
+    }
+
+    /**
+     * Orders the goals and works out the critical path. Called when the planner starts if it hasn't
+     * been already, but it is worth calling during init so a mistake in the graph shows up early.
+     * @throws IllegalStateException if the dependencies go in a circle, or depend on a goal that was never added
+     */
+    public void plan() {
+        int size = goals.size();
+        Map<Goal, Integer> waitingOn = new IdentityHashMap<>();
+        Map<Goal, List<Goal>> dependents = new IdentityHashMap<>();
+        for (Goal goal : goals) {
+            waitingOn.put(goal, goal.dependencies.size());
+            dependents.put(goal, new ArrayList<Goal>());
+        }
+        for (Goal goal : goals) {
+            for (Goal dependency : goal.dependencies) {
+                List<Goal> list = dependents.get(dependency);
+                if (list == null) {
+                    throw new IllegalStateException(goal.action.getGoal() + " depends on a goal that isn't in " + getGoal());
+                }
+                list.add(goal);
+            }
+        }
+
+        // Kahn's algorithm
+        List<Goal> topological = new ArrayList<>(size);
+        for (Goal goal : goals) {
+            if (goal.dependencies.isEmpty()) topological.add(goal);
+        }
+        for (int i = 0; i < topological.size(); i++) {
+            for (Goal dependent : dependents.get(topological.get(i))) {
+                int left = waitingOn.get(dependent) - 1;
+                waitingOn.put(dependent, left);
+                if (left == 0) topological.add(dependent);
+            }
+        }
+        if (topological.size() != size) {
+            throw new IllegalStateException("the goals in " + getGoal() + " depend on each other in a circle");
+        }
+
+        // Longest remaining path, working back from the end
+        for (int i = size - 1; i >= 0; i--) {
+            Goal goal = topological.get(i);
+            goal.remainingMillis = goal.estimatedMillis;
+            goal.next = null;
+            for (Goal dependent : dependents.get(goal)) {
+                if (goal.estimatedMillis + dependent.remainingMillis > goal.remainingMillis) {
+                    goal.remainingMillis = goal.estimatedMillis + dependent.remainingMillis;
+                    goal.next = dependent;
+                }
+            }
+        }
+
+        order = topological.toArray(new Goal[size]);
+        // Stable, so goals with the same remaining work keep their topological order
+        Arrays.sort(order, new Comparator<Goal>() {
+            @Override
+            public int compare(Goal a, Goal b) {
+                return a.remainingMillis > b.remainingMillis ? -1 : (a.remainingMillis == b.remainingMillis ? 0 : 1);
+            }
+        });
+    }
+
+    /**
+     * Gets the chain of goals that decides how long the route takes, from the estimates
+     * @return the goals on the critical path, first to last
+     */
+    public List<Action> getCriticalPath() {
+        if (order == null) plan();
+        List<Action> path = new ArrayList<>();
+        // The goal with the most work left can't have dependencies (they would have more), so it starts the path
+        for (Goal goal = order.length == 0 ? null : order[0]; goal != null; goal = goal.next) {
+            path.add(goal.action);
+        }
+        return Collections.unmodifiableList(path);
+    }
+
+    /**
+     * @return the estimated time for the whole route, if everything that can run in parallel does, in milliseconds
+     */
+    public long getCriticalPathMillis() {
+        if (order == null) plan();
+        return order.length == 0 ? 0 : order[0].remainingMillis;
+    }
+
+    @Override
+    protected void start() {
+        if (order == null) plan();
+        running.clear();
+        owners.clear();
+        doneCount = 0;
+        for (Goal goal : goals) {
+            goal.started = false;
+            goal.done = false;
+            goal.action.reset();
+        }
+    }
+
+    @Override
+    protected void update() {
+        long now = System.nanoTime();
+
+        for (int i = 0; i < running.size(); i++) {
+            Goal goal = running.get(i);
+            if (goal.action.tick(now)) {
+                finish(goal);
+                running.remove(i);
+                i--;
+            }
+        }
+
+        // Goals started here also get their first update now, and may finish right away
+        if (order == null) plan();
+        for (Goal goal : order) {
+            if (!goal.started && isReady(goal)) {
+                goal.started = true;
+                for (Object subsystem : goal.subsystems) {
+                    owners.put(subsystem, goal);
+                }
+                if (goal.action.tick(now)) {
+                    finish(goal);
+                } else {
+                    running.add(goal);
+                }
+            }
+        }
+    }
+
+    private boolean isReady(Goal goal) {
+        for (Goal dependency : goal.dependencies) {
+            if (!dependency.done) return false;
+        }
+        for (Object subsystem : goal.subsystems) {
+            if (owners.containsKey(subsystem)) return false;
+        }
+        return true;
+    }
+
+    private void finish(Goal goal) {
+        goal.done = true;
+        doneCount++;
+        for (Object subsystem : goal.subsystems) {
+            owners.remove(subsystem);
+        }
+    }
+
+    @Override
+    protected boolean isFinished() {
+        return doneCount == goals.size();
+    }
+
+    @Override
+    protected void end(boolean interrupted) {
+        for (Goal goal : running) {
+            goal.action.cancel();
+        }
+        running.clear();
+        owners.clear();
+    }
+
+    /**
+     * Gets who has a subsystem right now
+     * @param subsystem the subsystem
+     * @return the action using it, or null if it is free
+     */
+    public Action getOwner(Object subsystem) {
+        Goal goal = owners.get(subsystem);
+        return goal == null ? null : goal.action;
+    }
+
+    /**
+     * @return every goal, in the order they were added
+     */
+    public List<Goal> getGoals() {
+        return Collections.unmodifiableList(goals);
+    }
+}
@@ -0,0 +1,72 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.autonomous;
+
+/**
+ * Runs actions at the same time. By default it finishes once all of them have; as a race, it
+ * finishes as soon as any one of them does and cancels the rest.
+ * @since 10/19/26
+ */
+public class ParallelAction extends Action {
+
+    private final Action[] actions;
+    private final boolean race;
+    private boolean finished;
+
+    /**
+     * Runs every action until they are all over
+     * @param goal the name of the group
+     * @param actions the actions to run together
+     */
+    public ParallelAction(String goal, Action... actions) {
+        this(goal, false, actions);
+    }
+
+    /**
+     * @param goal the name of the group
+     * @param race whether to finish as soon as any action does, instead of waiting for all of them
+     * @param actions the actions to run together
+     */
+    public ParallelAction(String goal, boolean race, Action... actions) {
+        super(goal);
+        this.race = race;
+        this.actions = actions;
+    }
+
+    @Override
+    protected void start() {
+        finished = false;
+    }
+
+    @Override
+    protected void update() {
+        long now = System.nanoTime();
+        boolean all = true;
+        boolean any = false;
+        for (Action action : actions) {
+            boolean done = action.tick(now);
+            all &= done;
+            any |= done;
+        }
+        finished = race ? any || actions.length == 0 : all;
+    }
+
+    @Override
+    protected boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    protected void end(boolean interrupted) {
+        // A race that someone won, or anything cut short, stops whatever is still going
+        for (Action action : actions) {
+            action.cancel();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        for (Action action : actions) {
+            action.reset();
+        }
+    }
+}
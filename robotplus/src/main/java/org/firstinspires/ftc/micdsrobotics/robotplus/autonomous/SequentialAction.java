@@ -0,0 +1,101 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.autonomous;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Runs actions one after another, moving on to the next one in the same loop the last one finished.
+ * An action that times out counts as over too, so the sequence moves on without it. It finishes
+ * when the last action does.
+ * @since 10/19/26
+ */
+public class SequentialAction extends Action {
+
+    private final Action[] actions;
+    private int current;
+
+    /**
+     * @param goal the name of the whole sequence
+     * @param actions the actions, in the order to run them
+     */
+    public SequentialAction(String goal, Action... actions) {
+        super(goal);
+        this.actions = actions;
+    }
+
+    /**
+     * Groups actions by their trigger step: actions with the same step run in parallel, and the
+     * steps run in order, lowest first.
+     * @param goal the name of the whole sequence
+     * @param actions the actions, in any order
+     * @return the sequence
+     * @see AutonomousGoal#getTriggerStep()
+     */
+    public static SequentialAction fromSteps(String goal, Action... actions) {
+        Action[] sorted = actions.clone();
+        // Arrays.sort is stable, so actions on the same step keep their order
+        Arrays.sort(sorted, new Comparator<Action>() {
+            @Override
+            public int compare(Action a, Action b) {
+                return a.getTriggerStep() < b.getTriggerStep() ? -1 : (a.getTriggerStep() == b.getTriggerStep() ? 0 : 1);
+            }
+        });
+
+        List<Action> steps = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= sorted.length; i++) {
+            if (i == sorted.length || sorted[i].getTriggerStep() != sorted[start].getTriggerStep()) {
+                if (i - start == 1) {
+                    steps.add(sorted[start]);
+                } else {
+                    steps.add(new ParallelAction(goal + " step " + sorted[start].getTriggerStep(),
+                            Arrays.copyOfRange(sorted, start, i)));
+                }
+                start = i;
+            }
+        }
+        return new SequentialAction(goal, steps.toArray(new Action[steps.size()]));
+    }
+
+    @Override
+    protected void start() {
+        current = 0;
+    }
+
+    @Override
+    protected void update() {
+        long now = System.nanoTime();
+        while (current < actions.length && actions[current].tick(now)) {
+            current++;
+        }
+    }
+
+    @Override
+    protected boolean isFinished() {
+        return current >= actions.length;
+    }
+
+    @Override
+    protected void end(boolean interrupted) {
+        if (interrupted && current < actions.length) {
+            actions[current].cancel();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        for (Action action : actions) {
+            action.reset();
+        }
+    }
+
+    /**
+     * @return the action running now, or null if the sequence hasn't started or is over
+     */
+    public Action getCurrent() {
+        return getState() == State.RUNNING && current < actions.length ? actions[current] : null;
+    }
+}
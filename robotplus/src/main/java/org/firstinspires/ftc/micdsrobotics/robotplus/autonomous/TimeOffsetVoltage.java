@@ -1,6 +1,6 @@
 package org.firstinspires.ftc.micdsrobotics.robotplus.autonomous;
 
-import android.util.Log;
+import org.firstinspires.ftc.micdsrobotics.robotplus.hardware.BatteryVoltageSampler;
 
 /**
  * Calculates the delay time necessary for a given voltage
@@ -19,8 +19,6 @@ public class TimeOffsetVoltage {
      * @deprecated this is untested
      */
     private static double timeVoltage(double voltage, double velocity) {
-        System.out.println(velocity * voltage);
-        Log.i("[TimeTest]", "TimeVoltage: " + velocity * voltage);
         return velocity * voltage;
     }
 
@@ -45,4 +43,16 @@ public class TimeOffsetVoltage {
     public static long calculateDistance(VoltageDistanceAdapter adapter, double voltage, double desiredDistance) {
         return (long)calculateCorrectedTime(adapter.voltageToDistance(voltage), desiredDistance - 10);
     }
+
+    /**
+     * Calculates the delay time to go at a given distance, using the sampler's smoothed battery voltage
+     * instead of a fresh sensor read. Note that it only works for a velocity of 1
+     * @param adapter the adapter that provides
+     * @param sampler the robot's battery voltage sampler
+     * @param desiredDistance the distance (in cm) that the robot should go
+     * @return the delay time in ms
+     */
+    public static long calculateDistance(VoltageDistanceAdapter adapter, BatteryVoltageSampler sampler, double desiredDistance) {
+        return calculateDistance(adapter, sampler.getVoltage(), desiredDistance);
+    }
 }
@@ -0,0 +1,226 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.autonomous;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@link VoltageDistanceAdapter} backed by measured data instead of a hand-written function.
+ * Record a few calibration runs at different battery voltages (drive at full power for a fixed
+ * time and measure how far the robot went), save the table, and load it in initHardware.
+ * Lookups are a binary search plus a linear interpolation between the two nearest points, and
+ * don't allocate.
+ * @see TimeOffsetVoltage#calculateDistance(VoltageDistanceAdapter, double, double)
+ * @since 10/19/26
+ */
+public class VoltageDistanceTable implements VoltageDistanceAdapter {
+
+    /**
+     * Marks the start of a saved table ("VDT1")
+     */
+    private static final int MAGIC = 0x56445431;
+
+    /**
+     * the magic and the point count
+     */
+    private static final int HEADER_BYTES = 8;
+
+    /**
+     * a voltage, a distance and a weight
+     */
+    private static final int POINT_BYTES = 20;
+
+    /**
+     * battery voltages, sorted ascending
+     */
+    private double[] voltages;
+
+    /**
+     * the distance traveled in one second (in cm) at the voltage with the same index
+     */
+    private double[] distances;
+
+    /**
+     * how many calibration runs were averaged into the point with the same index
+     */
+    private int[] weights;
+
+    /**
+     * the number of points in use
+     */
+    private int size;
+
+    /**
+     * Creates an empty table
+     */
+    public VoltageDistanceTable() {
+        this(8);
+    }
+
+    /**
+     * Creates an empty table with room for a number of points
+     * @param capacity how many points to make room for
+     */
+    public VoltageDistanceTable(int capacity) {
+        capacity = Math.max(capacity, 2);
+        voltages = new double[capacity];
+        distances = new double[capacity];
+        weights = new int[capacity];
+    }
+
+    /**
+     * Adds a calibration run to the table.
+     * @param voltage the battery voltage at the start of the run
+     * @param distance how far the robot went, in centimeters
+     * @param durationMillis how long the robot drove for, in milliseconds
+     * @throws IllegalArgumentException if the duration isn't positive, or a value isn't finite
+     */
+    public void record(double voltage, double distance, long durationMillis) {
+        if (durationMillis <= 0) {
+            throw new IllegalArgumentException("duration must be positive: " + durationMillis);
+        }
+        addPoint(voltage, distance * 1000.0 / durationMillis);
+    }
+
+    /**
+     * Adds a point to the table. Points at the same voltage are averaged together.
+     * @param voltage the battery voltage
+     * @param distancePerSecond the distance traveled in one second at that voltage, in centimeters
+     * @throws IllegalArgumentException if either value isn't finite
+     */
+    public void addPoint(double voltage, double distancePerSecond) {
+        if (!isFinite(voltage) || !isFinite(distancePerSecond)) {
+            throw new IllegalArgumentException("calibration point must be finite: " + voltage + " V, " + distancePerSecond + " cm/s");
+        }
+        int index = Arrays.binarySearch(voltages, 0, size, voltage);
+        if (index >= 0) {
+            weights[index]++;
+            distances[index] += (distancePerSecond - distances[index]) / weights[index];
+            return;
+        }
+
+        index = -(index + 1);
+        if (size == voltages.length) {
+            int capacity = size * 2;
+            voltages = Arrays.copyOf(voltages, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        System.arraycopy(voltages, index, voltages, index + 1, size - index);
+        System.arraycopy(distances, index, distances, index + 1, size - index);
+        System.arraycopy(weights, index, weights, index + 1, size - index);
+        voltages[index] = voltage;
+        distances[index] = distancePerSecond;
+        weights[index] = 1;
+        size++;
+    }
+
+    private static boolean isFinite(double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+
+    /**
+     * Looks up the distance traveled in one second, interpolating between the nearest calibration
+     * points. Voltages outside of the table use the nearest end of it.
+     * @param voltage the voltage to be calculated
+     * @return the distance, in centimeters
+     * @throws IllegalStateException if the table is empty
+     */
+    @Override
+    public double voltageToDistance(double voltage) {
+        if (size == 0) {
+            throw new IllegalStateException("no calibration data in the table");
+        }
+        if (voltage <= voltages[0]) {
+            return distances[0];
+        }
+        if (voltage >= voltages[size - 1]) {
+            return distances[size - 1];
+        }
+
+        int index = Arrays.binarySearch(voltages, 0, size, voltage);
+        if (index >= 0) {
+            return distances[index];
+        }
+        int upper = -(index + 1);
+        int lower = upper - 1;
+        double t = (voltage - voltages[lower]) / (voltages[upper] - voltages[lower]);
+        return distances[lower] + t * (distances[upper] - distances[lower]);
+    }
+
+    /**
+     * @return the number of points in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all of the points from the table
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Saves the table to a file, i.e. one from AppUtil.getInstance().getSettingsFile(name)
+     * @param file the file to write
+     * @throws IOException if the file can't be written
+     */
+    public void save(File file) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeDouble(voltages[i]);
+                out.writeDouble(distances[i]);
+                out.writeInt(weights[i]);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Loads a table saved with {@link VoltageDistanceTable#save(File)}
+     * @param file the file to read
+     * @return the loaded table
+     * @throws IOException if the file can't be read or isn't a saved table
+     */
+    public static VoltageDistanceTable load(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a voltage distance table");
+            }
+            int count = in.readInt();
+            // Check the count against the file before trusting it with an allocation
+            if (count < 0 || count > (file.length() - HEADER_BYTES) / POINT_BYTES) {
+                throw new IOException(file + " is corrupt");
+            }
+            VoltageDistanceTable table = new VoltageDistanceTable(count);
+            for (int i = 0; i < count; i++) {
+                table.voltages[i] = in.readDouble();
+                table.distances[i] = in.readDouble();
+                table.weights[i] = in.readInt();
+                if (!isFinite(table.voltages[i]) || !isFinite(table.distances[i]) || table.weights[i] <= 0) {
+                    throw new IOException(file + " is corrupt");
+                }
+                if (i > 0 && table.voltages[i] <= table.voltages[i - 1]) {
+                    throw new IOException(file + " is not sorted");
+                }
+            }
+            table.size = count;
+            return table;
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.autonomous;
+
+/**
+ * Waits for a while without blocking the loop. The non-blocking stand-in for sleep().
+ * @since 10/19/26
+ */
+public class WaitAction extends Action {
+
+    private final long durationNanos;
+    private long endTime;
+
+    /**
+     * @param goal what the wait is for
+     * @param durationMillis how long to wait, in milliseconds
+     */
+    public WaitAction(String goal, long durationMillis) {
+        super(goal);
+        this.durationNanos = durationMillis * 1000000L;
+    }
+
+    @Override
+    protected void start() {
+        endTime = System.nanoTime() + durationNanos;
+    }
+
+    @Override
+    protected void update() { }
+
+    @Override
+    protected boolean isFinished() {
+        return System.nanoTime() - endTime >= 0;
+    }
+}
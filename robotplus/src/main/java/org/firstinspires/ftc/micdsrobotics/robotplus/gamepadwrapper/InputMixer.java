@@ -0,0 +1,264 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.gamepadwrapper;
+
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.robodata.AccessControl;
+
+/**
+ * Mixes both drivers' gamepads into one, so the secondary driver can make small corrections without
+ * taking over completely. Which gamepad is primary comes from {@link AccessControl}, and each stick,
+ * trigger and button has its own {@link Policy}.
+ * <p>
+ * The result is an ordinary Gamepad that is filled in again on every {@link InputMixer#update()},
+ * so it goes anywhere a gamepad does:
+ * <pre>
+ *     mecanumDrive.complexDrive(mixer.update(), telemetry);
+ *     controller.update(mixer.getMixed());
+ * </pre>
+ * Updates don't allocate.
+ * @since 10/19/26
+ */
+public class InputMixer {
+
+    /**
+     * How the two drivers' inputs are combined
+     */
+    public enum Policy {
+        /**
+         * only the primary driver counts, like AccessControl on its own
+         */
+        PRIMARY_ONLY,
+        /**
+         * the secondary driver takes over while they are using the input
+         */
+        OVERRIDE_ON_INPUT,
+        /**
+         * both count: the inputs are weighted and added. For buttons, this and OVERRIDE_ON_INPUT both
+         * mean either driver can press it.
+         */
+        WEIGHTED_BLEND
+    }
+
+    /**
+     * The sticks and triggers
+     */
+    public enum Axis {
+        LEFT_STICK_X,
+        LEFT_STICK_Y,
+        RIGHT_STICK_X,
+        RIGHT_STICK_Y,
+        LEFT_TRIGGER,
+        RIGHT_TRIGGER
+    }
+
+    /**
+     * The buttons
+     */
+    public enum ButtonInput {
+        A,
+        B,
+        X,
+        Y,
+        START,
+        BACK,
+        LEFT_BUMPER,
+        RIGHT_BUMPER,
+        DPAD_UP,
+        DPAD_DOWN,
+        DPAD_LEFT,
+        DPAD_RIGHT,
+        LEFT_STICK_BUTTON,
+        RIGHT_STICK_BUTTON
+    }
+
+    // values() makes a new array every call, so keep one of each
+    private static final Axis[] AXES = Axis.values();
+    private static final ButtonInput[] BUTTONS = ButtonInput.values();
+
+    private final AccessControl access;
+    private final Gamepad gamepad1;
+    private final Gamepad gamepad2;
+    private final Gamepad mixed = new Gamepad();
+
+    private final Policy[] axisPolicies = new Policy[AXES.length];
+    private final double[] primaryWeights = new double[AXES.length];
+    private final double[] secondaryWeights = new double[AXES.length];
+    private final Policy[] buttonPolicies = new Policy[BUTTONS.length];
+
+    private double deadzone = 0.05;
+
+    /**
+     * Creates a mixer where only the primary driver counts until policies are set
+     * @param access decides which gamepad is primary
+     * @param gamepad1 gamepad1 from your OpMode
+     * @param gamepad2 gamepad2 from your OpMode
+     */
+    public InputMixer(AccessControl access, Gamepad gamepad1, Gamepad gamepad2) {
+        this.access = access;
+        this.gamepad1 = gamepad1;
+        this.gamepad2 = gamepad2;
+        for (int i = 0; i < AXES.length; i++) {
+            axisPolicies[i] = Policy.PRIMARY_ONLY;
+            primaryWeights[i] = 1;
+            secondaryWeights[i] = 1;
+        }
+        for (int i = 0; i < BUTTONS.length; i++) {
+            buttonPolicies[i] = Policy.PRIMARY_ONLY;
+        }
+    }
+
+    /**
+     * Sets how a stick or trigger is mixed
+     * @param axis the stick or trigger
+     * @param policy how to mix it
+     */
+    public void setPolicy(Axis axis, Policy policy) {
+        axisPolicies[axis.ordinal()] = policy;
+    }
+
+    /**
+     * Mixes a stick or trigger as a weighted blend: primary * primaryWeight + secondary * secondaryWeight,
+     * clipped to the axis's range. A small secondary weight gives the secondary driver fine control.
+     * @param axis the stick or trigger
+     * @param primaryWeight the primary driver's weight
+     * @param secondaryWeight the secondary driver's weight
+     */
+    public void setBlend(Axis axis, double primaryWeight, double secondaryWeight) {
+        axisPolicies[axis.ordinal()] = Policy.WEIGHTED_BLEND;
+        primaryWeights[axis.ordinal()] = primaryWeight;
+        secondaryWeights[axis.ordinal()] = secondaryWeight;
+    }
+
+    /**
+     * Sets how a button is mixed
+     * @param button the button
+     * @param policy how to mix it
+     */
+    public void setPolicy(ButtonInput button, Policy policy) {
+        buttonPolicies[button.ordinal()] = policy;
+    }
+
+    /**
+     * Sets the same policy for every stick, trigger and button
+     * @param policy how to mix them
+     */
+    public void setAllPolicies(Policy policy) {
+        for (int i = 0; i < AXES.length; i++) {
+            axisPolicies[i] = policy;
+        }
+        for (int i = 0; i < BUTTONS.length; i++) {
+            buttonPolicies[i] = policy;
+        }
+    }
+
+    /**
+     * Sets how far the secondary driver has to move a stick or trigger before OVERRIDE_ON_INPUT takes over
+     * @param deadzone the deadzone, from 0 to 1
+     */
+    public void setDeadzone(double deadzone) {
+        this.deadzone = deadzone;
+    }
+
+    /**
+     * Mixes the gamepads' current state. Call once per loop.
+     * @return the mixed gamepad
+     */
+    public Gamepad update() {
+        boolean g1Primary = access.isG1Primary();
+        Gamepad primary = g1Primary ? gamepad1 : gamepad2;
+        Gamepad secondary = g1Primary ? gamepad2 : gamepad1;
+
+        for (Axis axis : AXES) {
+            setAxis(mixed, axis, mixAxis(axis, getAxis(primary, axis), getAxis(secondary, axis)));
+        }
+        for (ButtonInput button : BUTTONS) {
+            boolean primaryDown = getButton(primary, button);
+            setButton(mixed, button, buttonPolicies[button.ordinal()] == Policy.PRIMARY_ONLY
+                    ? primaryDown
+                    : primaryDown || getButton(secondary, button));
+        }
+        return mixed;
+    }
+
+    private double mixAxis(Axis axis, double primary, double secondary) {
+        int i = axis.ordinal();
+        switch (axisPolicies[i]) {
+            case OVERRIDE_ON_INPUT:
+                return Math.abs(secondary) > deadzone ? secondary : primary;
+            case WEIGHTED_BLEND:
+                double blended = primary * primaryWeights[i] + secondary * secondaryWeights[i];
+                boolean trigger = axis == Axis.LEFT_TRIGGER || axis == Axis.RIGHT_TRIGGER;
+                return Math.max(trigger ? 0 : -1, Math.min(1, blended));
+            default:
+                return primary;
+        }
+    }
+
+    /**
+     * @return the gamepad filled in by the last update
+     */
+    public Gamepad getMixed() {
+        return mixed;
+    }
+
+    private static double getAxis(Gamepad gamepad, Axis axis) {
+        switch (axis) {
+            case LEFT_STICK_X: return gamepad.left_stick_x;
+            case LEFT_STICK_Y: return gamepad.left_stick_y;
+            case RIGHT_STICK_X: return gamepad.right_stick_x;
+            case RIGHT_STICK_Y: return gamepad.right_stick_y;
+            case LEFT_TRIGGER: return gamepad.left_trigger;
+            default: return gamepad.right_trigger;
+        }
+    }
+
+    private static void setAxis(Gamepad gamepad, Axis axis, double value) {
+        float f = (float) value;
+        switch (axis) {
+            case LEFT_STICK_X: gamepad.left_stick_x = f; break;
+            case LEFT_STICK_Y: gamepad.left_stick_y = f; break;
+            case RIGHT_STICK_X: gamepad.right_stick_x = f; break;
+            case RIGHT_STICK_Y: gamepad.right_stick_y = f; break;
+            case LEFT_TRIGGER: gamepad.left_trigger = f; break;
+            case RIGHT_TRIGGER: gamepad.right_trigger = f; break;
+        }
+    }
+
+    private static boolean getButton(Gamepad gamepad, ButtonInput button) {
+        switch (button) {
+            case A: return gamepad.a;
+            case B: return gamepad.b;
+            case X: return gamepad.x;
+            case Y: return gamepad.y;
+            case START: return gamepad.start;
+            case BACK: return gamepad.back;
+            case LEFT_BUMPER: return gamepad.left_bumper;
+            case RIGHT_BUMPER: return gamepad.right_bumper;
+            case DPAD_UP: return gamepad.dpad_up;
+            case DPAD_DOWN: return gamepad.dpad_down;
+            case DPAD_LEFT: return gamepad.dpad_left;
+            case DPAD_RIGHT: return gamepad.dpad_right;
+            case LEFT_STICK_BUTTON: return gamepad.left_stick_button;
+            default: return gamepad.right_stick_button;
+        }
+    }
+
+    private static void setButton(Gamepad gamepad, ButtonInput button, boolean value) {
+        switch (button) {
+            case A: gamepad.a = value; break;
+            case B: gamepad.b = value; break;
+            case X: gamepad.x = value; break;
+            case Y: gamepad.y = value; break;
+            case START: gamepad.start = value; break;
+            case BACK: gamepad.back = value; break;
+            case LEFT_BUMPER: gamepad.left_bumper = value; break;
+            case RIGHT_BUMPER: gamepad.right_bumper = value; break;
+            case DPAD_UP: gamepad.dpad_up = value; break;
+            case DPAD_DOWN: gamepad.dpad_down = value; break;
+            case DPAD_LEFT: gamepad.dpad_left = value; break;
+            case DPAD_RIGHT: gamepad.dpad_right = value; break;
+            case LEFT_STICK_BUTTON: gamepad.left_stick_button = value; break;
+            case RIGHT_STICK_BUTTON: gamepad.right_stick_button = value; break;
+        }
+    }
+}
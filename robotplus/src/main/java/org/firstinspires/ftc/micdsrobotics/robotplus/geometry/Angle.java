@@ -0,0 +1,36 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.geometry;
+
+/**
+ * Angle helpers, all in radians
+ * @since 10/19/26
+ */
+public class Angle {
+    private Angle() { }
+
+    private static final double TAU = 2 * Math.PI;
+
+    /**
+     * Wraps an angle into the range (-pi, pi]
+     * @param angle the angle, in radians
+     * @return the same angle, in (-pi, pi]
+     */
+    public static double normalize(double angle) {
+        angle %= TAU;
+        if (angle > Math.PI) {
+            angle -= TAU;
+        } else if (angle <= -Math.PI) {
+            angle += TAU;
+        }
+        return angle;
+    }
+
+    /**
+     * Finds the shortest turn from one angle to another
+     * @param from the starting angle, in radians
+     * @param to the ending angle, in radians
+     * @return the turn, in (-pi, pi]; positive is counterclockwise
+     */
+    public static double difference(double from, double to) {
+        return normalize(to - from);
+    }
+}
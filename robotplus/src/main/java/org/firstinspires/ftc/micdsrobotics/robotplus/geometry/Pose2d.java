@@ -0,0 +1,179 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.geometry;
+
+/**
+ * Where the robot is on the field and which way it's facing. Follows the same rules as
+ * {@link Vector2d}: verbs change this pose and return it, results return a new one.
+ * <p>
+ * The heading is the way the front of the robot faces, i.e. the direction
+ * {@link org.firstinspires.ftc.micdsrobotics.robotplus.hardware.MecanumDrive}'s complexDrive calls angle pi/2;
+ * complexDrive's angle 0 (strafing right) is a quarter turn clockwise of it. Everything that turns field
+ * motion into drive commands (HolonomicFollower, SimulatedRobot) uses this convention.
+ * @since 10/19/26
+ */
+public class Pose2d {
+
+    /**
+     * the x position
+     */
+    public double x;
+    /**
+     * the y position
+     */
+    public double y;
+
+    /**
+     * the heading, in radians counterclockwise from the x axis
+     */
+    public double heading;
+
+    /**
+     * Creates a pose at the origin, facing along the x axis
+     */
+    public Pose2d() { }
+
+    /**
+     * Creates a pose
+     * @param x the x position
+     * @param y the y position
+     * @param heading the heading, in radians
+     */
+    public Pose2d(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+    }
+
+    /**
+     * Creates a pose
+     * @param position the position
+     * @param heading the heading, in radians
+     */
+    public Pose2d(Vector2d position, double heading) {
+        this(position.x, position.y, heading);
+    }
+
+    /**
+     * Creates a copy of a pose
+     * @param other the pose to copy
+     */
+    public Pose2d(Pose2d other) {
+        this(other.x, other.y, other.heading);
+    }
+
+    // In place ----------------------------------------------------------------------------------
+
+    /**
+     * Sets the position and heading
+     * @param x the x position
+     * @param y the y position
+     * @param heading the heading, in radians
+     * @return this pose
+     */
+    public Pose2d set(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        return this;
+    }
+
+    /**
+     * Copies another pose into this one
+     * @param other the pose to copy
+     * @return this pose
+     */
+    public Pose2d set(Pose2d other) {
+        return set(other.x, other.y, other.heading);
+    }
+
+    /**
+     * Moves this pose by a twist measured in the robot's frame, following the arc the robot would
+     * drive if the twist happened at a constant rate. This is the update step for odometry.
+     * @param twist the change in pose, in the robot's frame
+     * @return this pose
+     */
+    public Pose2d exp(Twist2d twist) {
+        double sin = Math.sin(twist.dtheta);
+        double cos = Math.cos(twist.dtheta);
+        double s;
+        double c;
+        if (Math.abs(twist.dtheta) < 1e-9) {
+            s = 1 - twist.dtheta * twist.dtheta / 6;
+            c = twist.dtheta / 2;
+        } else {
+            s = sin / twist.dtheta;
+            c = (1 - cos) / twist.dtheta;
+        }
+        double localX = twist.dx * s - twist.dy * c;
+        double localY = twist.dx * c + twist.dy * s;
+
+        double headingSin = Math.sin(heading);
+        double headingCos = Math.cos(heading);
+        return set(x + localX * headingCos - localY * headingSin,
+                y + localX * headingSin + localY * headingCos,
+                Angle.normalize(heading + twist.dtheta));
+    }
+
+    /**
+     * Moves this pose by an offset in the field's frame
+     * @param dx the change in x
+     * @param dy the change in y
+     * @param dheading the change in heading, in radians
+     * @return this pose
+     */
+    public Pose2d add(double dx, double dy, double dheading) {
+        return set(x + dx, y + dy, Angle.normalize(heading + dheading));
+    }
+
+    // New pose -----------------------------------------------------------------------------------
+
+    /**
+     * Finds this pose as seen from another pose, i.e. the error between a target and the robot in the robot's frame
+     * @param origin the pose to measure from
+     * @return this pose, in origin's frame
+     */
+    public Pose2d relativeTo(Pose2d origin) {
+        return relativeTo(origin, new Pose2d());
+    }
+
+    /**
+     * Finds this pose as seen from another pose, without allocating
+     * @param origin the pose to measure from
+     * @param result where to put the result
+     * @return result
+     */
+    public Pose2d relativeTo(Pose2d origin, Pose2d result) {
+        double dx = x - origin.x;
+        double dy = y - origin.y;
+        double sin = Math.sin(-origin.heading);
+        double cos = Math.cos(-origin.heading);
+        return result.set(dx * cos - dy * sin, dx * sin + dy * cos, Angle.normalize(heading - origin.heading));
+    }
+
+    /**
+     * @return a new pose with the same position and heading
+     */
+    public Pose2d copy() {
+        return new Pose2d(this);
+    }
+
+    // Queries ------------------------------------------------------------------------------------
+
+    /**
+     * @return a new vector at this pose's position
+     */
+    public Vector2d position() {
+        return new Vector2d(x, y);
+    }
+
+    /**
+     * @return a new unit vector pointing along the heading
+     */
+    public Vector2d headingVector() {
+        return new Vector2d(Math.cos(heading), Math.sin(heading));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%.3f, %.3f, %.1f deg)", x, y, Math.toDegrees(heading));
+    }
+}
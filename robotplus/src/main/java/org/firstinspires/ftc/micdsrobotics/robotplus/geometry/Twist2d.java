@@ -0,0 +1,111 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.geometry;
+
+/**
+ * A change in pose, measured in the robot's own frame: how far it moved forward (x) and to the
+ * left (y), and how much it turned. Used for odometry (a twist per loop from the encoders) and
+ * for robot-relative velocities (a twist per second).
+ * @see Pose2d#exp(Twist2d)
+ * @since 10/19/26
+ */
+public class Twist2d {
+
+    /**
+     * how far the robot moved forward
+     */
+    public double dx;
+    /**
+     * how far the robot moved to the left
+     */
+    public double dy;
+
+    /**
+     * the change in heading, in radians counterclockwise
+     */
+    public double dtheta;
+
+    /**
+     * Creates a zero twist
+     */
+    public Twist2d() { }
+
+    /**
+     * Creates a twist
+     * @param dx how far the robot moved forward
+     * @param dy how far the robot moved to the left
+     * @param dtheta the change in heading, in radians
+     */
+    public Twist2d(double dx, double dy, double dtheta) {
+        this.dx = dx;
+        this.dy = dy;
+        this.dtheta = dtheta;
+    }
+
+    /**
+     * Creates a copy of a twist
+     * @param other the twist to copy
+     */
+    public Twist2d(Twist2d other) {
+        this(other.dx, other.dy, other.dtheta);
+    }
+
+    /**
+     * Sets every part of the twist
+     * @param dx how far the robot moved forward
+     * @param dy how far the robot moved to the left
+     * @param dtheta the change in heading, in radians
+     * @return this twist
+     */
+    public Twist2d set(double dx, double dy, double dtheta) {
+        this.dx = dx;
+        this.dy = dy;
+        this.dtheta = dtheta;
+        return this;
+    }
+
+    /**
+     * Copies another twist into this one
+     * @param other the twist to copy
+     * @return this twist
+     */
+    public Twist2d set(Twist2d other) {
+        return set(other.dx, other.dy, other.dtheta);
+    }
+
+    /**
+     * Multiplies every part by a number, i.e. to turn a velocity into a change over a time step
+     * @param scalar what to scale by
+     * @return this twist
+     */
+    public Twist2d scale(double scalar) {
+        return set(dx * scalar, dy * scalar, dtheta * scalar);
+    }
+
+    /**
+     * Adds another twist to this one
+     * @param other the twist to add
+     * @return this twist
+     */
+    public Twist2d add(Twist2d other) {
+        return set(dx + other.dx, dy + other.dy, dtheta + other.dtheta);
+    }
+
+    /**
+     * @param scalar what to scale by
+     * @return a new twist, this * scalar
+     */
+    public Twist2d times(double scalar) {
+        return new Twist2d(dx * scalar, dy * scalar, dtheta * scalar);
+    }
+
+    /**
+     * @return a new twist with the same parts
+     */
+    public Twist2d copy() {
+        return new Twist2d(this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(dx %.3f, dy %.3f, dtheta %.3f)", dx, dy, dtheta);
+    }
+}
@@ -0,0 +1,251 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.geometry;
+
+/**
+ * A 2D vector, i.e. a position on the field or a velocity.
+ * Methods named like verbs ({@link Vector2d#add}, {@link Vector2d#scale}, {@link Vector2d#rotate})
+ * change this vector and return it, so they can be chained in a loop without making garbage.
+ * Methods named like results ({@link Vector2d#plus}, {@link Vector2d#times}, {@link Vector2d#rotated})
+ * leave this vector alone and return a new one.
+ * @since 10/19/26
+ */
+public class Vector2d {
+
+    /**
+     * the x component
+     */
+    public double x;
+    /**
+     * the y component
+     */
+    public double y;
+
+    /**
+     * Creates a zero vector
+     */
+    public Vector2d() { }
+
+    /**
+     * Creates a vector
+     * @param x the x component
+     * @param y the y component
+     */
+    public Vector2d(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Creates a copy of a vector
+     * @param other the vector to copy
+     */
+    public Vector2d(Vector2d other) {
+        this(other.x, other.y);
+    }
+
+    /**
+     * Creates a vector from polar coordinates
+     * @param magnitude the length of the vector
+     * @param angle the angle of the vector, in radians counterclockwise from the x axis
+     * @return the vector
+     */
+    public static Vector2d polar(double magnitude, double angle) {
+        return new Vector2d(magnitude * Math.cos(angle), magnitude * Math.sin(angle));
+    }
+
+    // In place ----------------------------------------------------------------------------------
+
+    /**
+     * Sets both components
+     * @param x the x component
+     * @param y the y component
+     * @return this vector
+     */
+    public Vector2d set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Copies another vector into this one
+     * @param other the vector to copy
+     * @return this vector
+     */
+    public Vector2d set(Vector2d other) {
+        return set(other.x, other.y);
+    }
+
+    /**
+     * Adds another vector to this one
+     * @param other the vector to add
+     * @return this vector
+     */
+    public Vector2d add(Vector2d other) {
+        return set(x + other.x, y + other.y);
+    }
+
+    /**
+     * Adds to each component
+     * @param dx what to add to x
+     * @param dy what to add to y
+     * @return this vector
+     */
+    public Vector2d add(double dx, double dy) {
+        return set(x + dx, y + dy);
+    }
+
+    /**
+     * Subtracts another vector from this one
+     * @param other the vector to subtract
+     * @return this vector
+     */
+    public Vector2d subtract(Vector2d other) {
+        return set(x - other.x, y - other.y);
+    }
+
+    /**
+     * Multiplies both components by a number
+     * @param scalar what to scale by
+     * @return this vector
+     */
+    public Vector2d scale(double scalar) {
+        return set(x * scalar, y * scalar);
+    }
+
+    /**
+     * Adds a scaled vector to this one (this += other * scalar)
+     * @param other the vector to add
+     * @param scalar what to scale it by
+     * @return this vector
+     */
+    public Vector2d addScaled(Vector2d other, double scalar) {
+        return set(x + other.x * scalar, y + other.y * scalar);
+    }
+
+    /**
+     * Rotates this vector counterclockwise
+     * @param angle the angle to rotate by, in radians
+     * @return this vector
+     */
+    public Vector2d rotate(double angle) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        return set(x * cos - y * sin, x * sin + y * cos);
+    }
+
+    /**
+     * Flips this vector around
+     * @return this vector
+     */
+    public Vector2d negate() {
+        return set(-x, -y);
+    }
+
+    /**
+     * Scales this vector to a length of 1 (a zero vector is left alone)
+     * @return this vector
+     */
+    public Vector2d normalize() {
+        double norm = norm();
+        return norm == 0 ? this : scale(1 / norm);
+    }
+
+    // New vector ---------------------------------------------------------------------------------
+
+    /**
+     * @param other the vector to add
+     * @return a new vector, this + other
+     */
+    public Vector2d plus(Vector2d other) {
+        return new Vector2d(x + other.x, y + other.y);
+    }
+
+    /**
+     * @param other the vector to subtract
+     * @return a new vector, this - other
+     */
+    public Vector2d minus(Vector2d other) {
+        return new Vector2d(x - other.x, y - other.y);
+    }
+
+    /**
+     * @param scalar what to scale by
+     * @return a new vector, this * scalar
+     */
+    public Vector2d times(double scalar) {
+        return new Vector2d(x * scalar, y * scalar);
+    }
+
+    /**
+     * @param angle the angle to rotate by counterclockwise, in radians
+     * @return a new vector, this one rotated
+     */
+    public Vector2d rotated(double angle) {
+        return new Vector2d(this).rotate(angle);
+    }
+
+    /**
+     * @return a new vector with the same components
+     */
+    public Vector2d copy() {
+        return new Vector2d(this);
+    }
+
+    // Queries ------------------------------------------------------------------------------------
+
+    /**
+     * @param other another vector
+     * @return the dot product of this and other
+     */
+    public double dot(Vector2d other) {
+        return x * other.x + y * other.y;
+    }
+
+    /**
+     * @param other another vector
+     * @return the z component of the cross product of this and other
+     */
+    public double cross(Vector2d other) {
+        return x * other.y - y * other.x;
+    }
+
+    /**
+     * @return the length of this vector
+     */
+    public double norm() {
+        return Math.hypot(x, y);
+    }
+
+    /**
+     * @return the angle of this vector, in radians counterclockwise from the x axis
+     */
+    public double angle() {
+        return Math.atan2(y, x);
+    }
+
+    /**
+     * @param other another vector, as a point
+     * @return the distance between the two points
+     */
+    public double distanceTo(Vector2d other) {
+        return Math.hypot(other.x - x, other.y - y);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Vector2d)) return false;
+        Vector2d other = (Vector2d) o;
+        return Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(x) * 31 + Double.doubleToLongBits(y);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%.3f, %.3f)", x, y);
+    }
+}
@@ -0,0 +1,293 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.geometry;
+
+import org.firstinspires.ftc.robotcore.external.navigation.Acceleration;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Position;
+import org.firstinspires.ftc.robotcore.external.navigation.Velocity;
+
+/**
+ * A 3-axis vector, i.e. an IMU reading. Follows the same rules as {@link Vector2d}: verbs change
+ * this vector and return it, results return a new one.
+ * <p>
+ * Conversions to and from the SDK's Position, Velocity and Acceleration always work in meters
+ * (per second, per second squared). The copyTo methods fill in an existing SDK object instead of
+ * making a new one.
+ * @since 10/19/26
+ */
+public class Vector3d {
+
+    /**
+     * the x component
+     */
+    public double x;
+    /**
+     * the y component
+     */
+    public double y;
+    /**
+     * the z component
+     */
+    public double z;
+
+    /**
+     * Creates a zero vector
+     */
+    public Vector3d() { }
+
+    /**
+     * Creates a vector
+     * @param x the x component
+     * @param y the y component
+     * @param z the z component
+     */
+    public Vector3d(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Creates a copy of a vector
+     * @param other the vector to copy
+     */
+    public Vector3d(Vector3d other) {
+        this(other.x, other.y, other.z);
+    }
+
+    // In place ----------------------------------------------------------------------------------
+
+    /**
+     * Sets every component
+     * @param x the x component
+     * @param y the y component
+     * @param z the z component
+     * @return this vector
+     */
+    public Vector3d set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Copies another vector into this one
+     * @param other the vector to copy
+     * @return this vector
+     */
+    public Vector3d set(Vector3d other) {
+        return set(other.x, other.y, other.z);
+    }
+
+    /**
+     * Copies an SDK position into this vector, in meters
+     * @param position the position
+     * @return this vector
+     */
+    public Vector3d set(Position position) {
+        DistanceUnit unit = position.unit;
+        return set(unit.toMeters(position.x), unit.toMeters(position.y), unit.toMeters(position.z));
+    }
+
+    /**
+     * Copies an SDK velocity into this vector, in meters per second
+     * @param velocity the velocity
+     * @return this vector
+     */
+    public Vector3d set(Velocity velocity) {
+        DistanceUnit unit = velocity.unit;
+        return set(unit.toMeters(velocity.xVeloc), unit.toMeters(velocity.yVeloc), unit.toMeters(velocity.zVeloc));
+    }
+
+    /**
+     * Copies an SDK acceleration into this vector, in meters per second squared
+     * @param acceleration the acceleration
+     * @return this vector
+     */
+    public Vector3d set(Acceleration acceleration) {
+        DistanceUnit unit = acceleration.unit;
+        return set(unit.toMeters(acceleration.xAccel), unit.toMeters(acceleration.yAccel), unit.toMeters(acceleration.zAccel));
+    }
+
+    /**
+     * Adds another vector to this one
+     * @param other the vector to add
+     * @return this vector
+     */
+    public Vector3d add(Vector3d other) {
+        return set(x + other.x, y + other.y, z + other.z);
+    }
+
+    /**
+     * Subtracts another vector from this one
+     * @param other the vector to subtract
+     * @return this vector
+     */
+    public Vector3d subtract(Vector3d other) {
+        return set(x - other.x, y - other.y, z - other.z);
+    }
+
+    /**
+     * Subtracts from each component
+     * @param dx what to subtract from x
+     * @param dy what to subtract from y
+     * @param dz what to subtract from z
+     * @return this vector
+     */
+    public Vector3d subtract(double dx, double dy, double dz) {
+        return set(x - dx, y - dy, z - dz);
+    }
+
+    /**
+     * Multiplies every component by a number
+     * @param scalar what to scale by
+     * @return this vector
+     */
+    public Vector3d scale(double scalar) {
+        return set(x * scalar, y * scalar, z * scalar);
+    }
+
+    /**
+     * Adds a scaled vector to this one (this += other * scalar)
+     * @param other the vector to add
+     * @param scalar what to scale it by
+     * @return this vector
+     */
+    public Vector3d addScaled(Vector3d other, double scalar) {
+        return set(x + other.x * scalar, y + other.y * scalar, z + other.z * scalar);
+    }
+
+    /**
+     * Sets every component to 0
+     * @return this vector
+     */
+    public Vector3d setZero() {
+        return set(0, 0, 0);
+    }
+
+    // New vector ---------------------------------------------------------------------------------
+
+    /**
+     * @param other the vector to add
+     * @return a new vector, this + other
+     */
+    public Vector3d plus(Vector3d other) {
+        return new Vector3d(x + other.x, y + other.y, z + other.z);
+    }
+
+    /**
+     * @param other the vector to subtract
+     * @return a new vector, this - other
+     */
+    public Vector3d minus(Vector3d other) {
+        return new Vector3d(x - other.x, y - other.y, z - other.z);
+    }
+
+    /**
+     * @param scalar what to scale by
+     * @return a new vector, this * scalar
+     */
+    public Vector3d times(double scalar) {
+        return new Vector3d(x * scalar, y * scalar, z * scalar);
+    }
+
+    /**
+     * @return a new vector with the same components
+     */
+    public Vector3d copy() {
+        return new Vector3d(this);
+    }
+
+    // Queries ------------------------------------------------------------------------------------
+
+    /**
+     * @param other another vector
+     * @return the dot product of this and other
+     */
+    public double dot(Vector3d other) {
+        return x * other.x + y * other.y + z * other.z;
+    }
+
+    /**
+     * @return the length of this vector
+     */
+    public double norm() {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    // SDK conversions ----------------------------------------------------------------------------
+
+    /**
+     * @param acquisitionTime when the reading was taken, in nanoseconds
+     * @return a new SDK position, in meters
+     */
+    public Position toPosition(long acquisitionTime) {
+        return new Position(DistanceUnit.METER, x, y, z, acquisitionTime);
+    }
+
+    /**
+     * @param acquisitionTime when the reading was taken, in nanoseconds
+     * @return a new SDK velocity, in meters per second
+     */
+    public Velocity toVelocity(long acquisitionTime) {
+        return new Velocity(DistanceUnit.METER, x, y, z, acquisitionTime);
+    }
+
+    /**
+     * @param acquisitionTime when the reading was taken, in nanoseconds
+     * @return a new SDK acceleration, in meters per second squared
+     */
+    public Acceleration toAcceleration(long acquisitionTime) {
+        return new Acceleration(DistanceUnit.METER, x, y, z, acquisitionTime);
+    }
+
+    /**
+     * Fills in an SDK position with this vector, in meters
+     * @param position the position to fill in
+     * @param acquisitionTime when the reading was taken, in nanoseconds
+     * @return position
+     */
+    public Position copyTo(Position position, long acquisitionTime) {
+        position.unit = DistanceUnit.METER;
+        position.x = x;
+        position.y = y;
+        position.z = z;
+        position.acquisitionTime = acquisitionTime;
+        return position;
+    }
+
+    /**
+     * Fills in an SDK velocity with this vector, in meters per second
+     * @param velocity the velocity to fill in
+     * @param acquisitionTime when the reading was taken, in nanoseconds
+     * @return velocity
+     */
+    public Velocity copyTo(Velocity velocity, long acquisitionTime) {
+        velocity.unit = DistanceUnit.METER;
+        velocity.xVeloc = x;
+        velocity.yVeloc = y;
+        velocity.zVeloc = z;
+        velocity.acquisitionTime = acquisitionTime;
+        return velocity;
+    }
+
+    /**
+     * Fills in an SDK acceleration with this vector, in meters per second squared
+     * @param acceleration the acceleration to fill in
+     * @param acquisitionTime when the reading was taken, in nanoseconds
+     * @return acceleration
+     */
+    public Acceleration copyTo(Acceleration acceleration, long acquisitionTime) {
+        acceleration.unit = DistanceUnit.METER;
+        acceleration.xAccel = x;
+        acceleration.yAccel = y;
+        acceleration.zAccel = z;
+        acceleration.acquisitionTime = acquisitionTime;
+        return acceleration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%.3f, %.3f, %.3f)", x, y, z);
+    }
+}
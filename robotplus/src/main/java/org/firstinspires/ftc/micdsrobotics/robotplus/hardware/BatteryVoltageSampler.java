@@ -0,0 +1,136 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.VoltageSensor;
+
+/**
+ * Keeps a smoothed battery voltage around without reading the voltage sensors every loop.
+ * The sensors are only read when the last reading is older than the sample period, and each
+ * reading is folded into an exponentially weighted moving average so that a momentary sag
+ * (i.e. when the drivetrain starts up) doesn't make the voltage jump around.
+ * @since 10/19/26
+ */
+public class BatteryVoltageSampler {
+
+    /**
+     * How often the sensors are read by default, in milliseconds
+     */
+    public static final long DEFAULT_PERIOD_MS = 250;
+
+    /**
+     * How much weight a new reading gets by default
+     */
+    public static final double DEFAULT_ALPHA = 0.2;
+
+    /**
+     * the voltage sensors on the robot (one per hub)
+     */
+    private final VoltageSensor[] sensors;
+
+    /**
+     * the minimum time between sensor reads, in nanoseconds
+     */
+    private final long periodNanos;
+
+    /**
+     * the weight of a new reading in the moving average, from 0 to 1
+     */
+    private final double alpha;
+
+    private volatile double voltage = Double.NaN;
+    private double rawVoltage = Double.NaN;
+    private long lastSampleTime;
+
+    /**
+     * Creates a sampler using every voltage sensor in the HardwareMap, with the default rate and smoothing
+     * @param hardwareMap the HardwareMap from your OpMode
+     */
+    public BatteryVoltageSampler(HardwareMap hardwareMap) {
+        this(hardwareMap, DEFAULT_PERIOD_MS, DEFAULT_ALPHA);
+    }
+
+    /**
+     * Creates a sampler using every voltage sensor in the HardwareMap
+     * @param hardwareMap the HardwareMap from your OpMode
+     * @param periodMillis the minimum time between sensor reads, in milliseconds
+     * @param alpha the weight of a new reading in the moving average, from 0 (never changes) to 1 (no smoothing)
+     */
+    public BatteryVoltageSampler(HardwareMap hardwareMap, long periodMillis, double alpha) {
+        this(toArray(hardwareMap), periodMillis, alpha);
+    }
+
+    /**
+     * Creates a sampler from specific voltage sensors
+     * @param sensors the voltage sensors to read; the lowest reading is used
+     * @param periodMillis the minimum time between sensor reads, in milliseconds
+     * @param alpha the weight of a new reading in the moving average, from 0 (never changes) to 1 (no smoothing)
+     */
+    public BatteryVoltageSampler(VoltageSensor[] sensors, long periodMillis, double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("alpha must be in (0, 1]: " + alpha);
+        }
+        this.sensors = sensors;
+        this.periodNanos = periodMillis * 1000000L;
+        this.alpha = alpha;
+    }
+
+    private static VoltageSensor[] toArray(HardwareMap hardwareMap) {
+        int count = 0;
+        for (VoltageSensor ignored : hardwareMap.voltageSensor) count++;
+        VoltageSensor[] sensors = new VoltageSensor[count];
+        int i = 0;
+        for (VoltageSensor sensor : hardwareMap.voltageSensor) sensors[i++] = sensor;
+        return sensors;
+    }
+
+    /**
+     * Reads the sensors if the last reading is older than the sample period. Cheap to call every loop.
+     */
+    public synchronized void update() {
+        long now = System.nanoTime();
+        if (!Double.isNaN(voltage) && now - lastSampleTime < periodNanos) {
+            return;
+        }
+        lastSampleTime = now;
+
+        double reading = Double.POSITIVE_INFINITY;
+        for (VoltageSensor sensor : sensors) {
+            double v = sensor.getVoltage();
+            // A hub that isn't powered (or is disconnected) reads 0, so ignore it
+            if (v > 0) {
+                reading = Math.min(reading, v);
+            }
+        }
+        if (reading == Double.POSITIVE_INFINITY) {
+            return;
+        }
+
+        rawVoltage = reading;
+        voltage = Double.isNaN(voltage) ? reading : voltage + alpha * (reading - voltage);
+    }
+
+    /**
+     * Gets the smoothed battery voltage, reading the sensors first if a new sample is due.
+     * @return the smoothed voltage, or NaN if no sensor has given a reading yet
+     */
+    public double getVoltage() {
+        update();
+        return voltage;
+    }
+
+    /**
+     * Gets the smoothed battery voltage without ever touching the sensors, so it is safe to call
+     * from any thread.
+     * @return the last smoothed voltage, or NaN if there hasn't been a reading yet
+     */
+    public double getCachedVoltage() {
+        return voltage;
+    }
+
+    /**
+     * @return the most recent unsmoothed reading, or NaN if there hasn't been one
+     */
+    public synchronized double getRawVoltage() {
+        return rawVoltage;
+    }
+}
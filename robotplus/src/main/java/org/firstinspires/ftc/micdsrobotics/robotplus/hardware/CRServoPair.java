@@ -26,6 +26,11 @@ public class CRServoPair {
         servo2 = map.crservo.get(deviceName2);
     }
 
+    public CRServoPair(HardwareRegistry registry, String deviceName1, String deviceName2) {
+        servo1 = registry.getCRServo(deviceName1);
+        servo2 = registry.getCRServo(deviceName2);
+    }
+
     public void setPowers(double power) {
         servo1.setPower(power);
         servo2.setPower(power);
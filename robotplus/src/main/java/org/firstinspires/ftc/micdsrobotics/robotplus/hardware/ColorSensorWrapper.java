@@ -68,10 +68,23 @@ public class ColorSensorWrapper {
      * @see com.qualcomm.robotcore.eventloop.opmode.LinearOpMode
      */
     public ColorSensorWrapper(HardwareMap m, String name) {
+        this(m, m.get(ColorSensor.class, name));
+    }
+
+    /**
+     * Gives values to the instance values, resolving the color sensor through the robot's HardwareRegistry
+     * @param registry the robot's HardwareRegistry
+     * @param name the color sensor's name
+     */
+    public ColorSensorWrapper(HardwareRegistry registry, String name) {
+        this(registry.getHardwareMap(), registry.<ColorSensor>get(ColorSensor.class, name));
+    }
+
+    private ColorSensorWrapper(HardwareMap m, ColorSensor colorSensor) {
         this.map = m;
         this.relativeLayoutId = this.map.appContext.getResources().getIdentifier("RelativeLayout", "id", this.map.appContext.getPackageName());
         this.relativeLayout = ((Activity) this.map.appContext).findViewById(this.relativeLayoutId);
-        this.colorSensor = this.map.get(ColorSensor.class, name);
+        this.colorSensor = colorSensor;
         this.colorSensor.enableLed(true);
     }
 
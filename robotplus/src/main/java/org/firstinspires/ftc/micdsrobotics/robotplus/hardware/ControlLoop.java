@@ -0,0 +1,231 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import com.qualcomm.robotcore.util.RobotLog;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs control tasks (drivetrain velocity control, heading hold, etc.) on their own thread at a
+ * fixed period, instead of whenever the OpMode's loop() happens to get called. Ticks are
+ * scheduled from the start time (start + n * period), so timing errors don't pile up, and if a
+ * tick runs long the missed ticks are skipped rather than run back to back.
+ * <p>
+ * Use a {@link TripleBuffer} to pass commands in from the OpMode and results back out.
+ * @since 10/19/26
+ */
+public class ControlLoop {
+
+    /**
+     * Something run every tick of the control loop
+     */
+    public interface Task {
+        /**
+         * Runs one tick
+         * @param dt the time since this task's last tick, in seconds
+         */
+        void tick(double dt);
+    }
+
+    private final long periodNanos;
+    private final CopyOnWriteArrayList<Task> tasks = new CopyOnWriteArrayList<>();
+
+    /**
+     * the thread that should be running the loop, or null when stopped. A loop thread exits as soon as
+     * it sees it isn't this one anymore, so a thread left over from before a restart never ticks alongside the new one.
+     */
+    private volatile Thread thread;
+
+    /**
+     * the last thread stopped, which may still be finishing its tick
+     */
+    private Thread stopping;
+
+    private volatile long tickCount;
+    private volatile long overrunCount;
+    private volatile long lastJitterNanos;
+    private volatile long maxJitterNanos;
+    private volatile long lastTickDurationNanos;
+
+    /**
+     * Creates a control loop
+     * @param periodMillis the time between ticks, in milliseconds
+     */
+    public ControlLoop(long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("period must be positive: " + periodMillis);
+        }
+        this.periodNanos = periodMillis * 1000000L;
+    }
+
+    /**
+     * Adds a task to run every tick. Tasks run in the order they were added.
+     * @param task the task to add
+     */
+    public void register(Task task) {
+        tasks.add(task);
+    }
+
+    /**
+     * Removes a task
+     * @param task the task to remove
+     */
+    public void unregister(Task task) {
+        tasks.remove(task);
+    }
+
+    /**
+     * Starts the loop thread. Call from init() or start() in the OpMode. If the loop was just stopped
+     * while a tick was running long, this waits for that tick to finish first.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        if (stopping != null) {
+            try {
+                stopping.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stopping = null;
+        }
+        Thread started = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runLoop();
+            }
+        }, "robotplus-control");
+        started.setDaemon(true);
+        started.setPriority(Thread.MAX_PRIORITY);
+        // Set before starting, so the new thread sees itself as the current one
+        thread = started;
+        started.start();
+    }
+
+    /**
+     * Stops the loop thread and waits for the current tick to finish. Call from stop() in the OpMode.
+     */
+    public synchronized void stop() {
+        Thread current = thread;
+        thread = null;
+        if (current != null && current != Thread.currentThread()) {
+            LockSupport.unpark(current);
+            try {
+                current.join(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (current.isAlive()) {
+                stopping = current;
+            }
+        }
+    }
+
+    private void runLoop() {
+        Thread self = Thread.currentThread();
+        long start = System.nanoTime();
+        long tick = 0;
+        long lastTickTime = start;
+
+        while (thread == self) {
+            long scheduled = start + tick * periodNanos;
+            long now = System.nanoTime();
+            while (now < scheduled && thread == self) {
+                LockSupport.parkNanos(scheduled - now);
+                now = System.nanoTime();
+            }
+            if (thread != self) {
+                break;
+            }
+
+            long jitter = now - scheduled;
+            lastJitterNanos = jitter;
+            if (jitter > maxJitterNanos) {
+                maxJitterNanos = jitter;
+            }
+
+            double dt = (now - lastTickTime) * 1e-9;
+            lastTickTime = now;
+            for (Task task : tasks) {
+                try {
+                    task.tick(dt);
+                } catch (RuntimeException e) {
+                    RobotLog.ee("ControlLoop", e, "control task %s threw", task);
+                }
+            }
+
+            long end = System.nanoTime();
+            lastTickDurationNanos = end - now;
+            tickCount++;
+
+            // Skip any ticks we've already missed instead of running them late
+            long next = tick + 1;
+            long behind = (end - start) / periodNanos;
+            if (behind >= next) {
+                overrunCount += behind - next + 1;
+                next = behind + 1;
+            }
+            tick = next;
+        }
+    }
+
+    /**
+     * @return whether the loop thread is running
+     */
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * @return the time between ticks, in milliseconds
+     */
+    public double getPeriodMillis() {
+        return periodNanos / 1e6;
+    }
+
+    /**
+     * @return the number of ticks run since the loop started
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * @return the number of ticks skipped because a tick ran past its slot
+     */
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * @return how late the last tick started, in milliseconds
+     */
+    public double getLastJitterMillis() {
+        return lastJitterNanos / 1e6;
+    }
+
+    /**
+     * @return the latest any tick has started, in milliseconds
+     */
+    public double getMaxJitterMillis() {
+        return maxJitterNanos / 1e6;
+    }
+
+    /**
+     * @return how long the tasks took on the last tick, in milliseconds
+     */
+    public double getLastTickDurationMillis() {
+        return lastTickDurationNanos / 1e6;
+    }
+
+    /**
+     * Clears the jitter and overrun statistics
+     */
+    public void resetStatistics() {
+        overrunCount = 0;
+        maxJitterNanos = 0;
+        lastJitterNanos = 0;
+    }
+}
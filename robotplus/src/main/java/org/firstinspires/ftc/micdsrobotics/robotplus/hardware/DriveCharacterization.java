@@ -0,0 +1,428 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.autonomous.Action;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Angle;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+
+/**
+ * Measures a drivetrain's feedforward constants instead of guessing them. It runs tests as
+ * {@link Action}s (so they go on an {@link org.firstinspires.ftc.micdsrobotics.robotplus.autonomous.ActionScheduler}),
+ * records the applied voltage, encoder position, velocity and acceleration of every loop into
+ * primitive buffers, and fits voltage = kS * sign(velocity) + kV * velocity + kA * acceleration
+ * by least squares.
+ * <ul>
+ *     <li>{@link DriveCharacterization#quasiStaticTest}: ramps the power up slowly, so acceleration is
+ *     about zero and the data pins down kS and kV.</li>
+ *     <li>{@link DriveCharacterization#stepTest}: jumps straight to a power, so the robot spends most of
+ *     the test accelerating and the data pins down kA.</li>
+ *     <li>{@link DriveCharacterization#trackWidthTest}: spins in place and compares how far the wheels
+ *     went to how far the IMU says the robot turned.</li>
+ * </ul>
+ * Give the robot room: run each test forward and backward, then {@link DriveCharacterization#fit()}
+ * and save the result.
+ * <p>
+ * The motors are driven straight through a {@link MotorGroup}, where the first leftCount motors turn
+ * the robot one way and the rest the other. That's how {@link TankDrive#getMotors()} and
+ * {@link MecanumDrive#getWheels()} are already ordered. The linear tests drive every motor forward,
+ * which for a mecanum drive means the minor diagonal runs backward (equal powers would strafe);
+ * {@link DriveCharacterization#forMecanum} sets that up. Encoder positions are read with the same
+ * sign as each motor's scale in the group, so motors inverted in software count the right way.
+ * @since 10/19/26
+ */
+public class DriveCharacterization {
+
+    private final MotorGroup motors;
+    private final int leftCount;
+    private final BatteryVoltageSampler battery;
+    private final IMUWrapper imu;
+    private double nominalVoltage = 12;
+
+    /**
+     * ignore samples slower than this (in ticks per second), since the drivetrain hasn't broken free yet
+     */
+    private double minVelocity = 10;
+
+    private final double[] times;
+    private final double[] voltages;
+    private final int[] positions;
+    private final double[] velocities;
+    private final double[] accelerations;
+    private int count;
+
+    private final VelocityEstimator estimator = new VelocityEstimator(7);
+    private final int[] motorPositions;
+    private final double[] powers;
+
+    /**
+     * the sign each motor is driven with to go forward
+     */
+    private final double[] directions;
+    private long startTime;
+
+    private double trackWidth = Double.NaN;
+
+    /**
+     * Creates a characterization routine
+     * @param motors the drive motors, first side first
+     * @param leftCount how many motors are on the first side
+     * @param battery where the battery voltage comes from
+     * @param imu the IMU, for the track width test, or null
+     * @param capacity how many samples to make room for, across every test
+     */
+    public DriveCharacterization(MotorGroup motors, int leftCount, BatteryVoltageSampler battery, IMUWrapper imu, int capacity) {
+        this.motors = motors;
+        this.leftCount = leftCount;
+        this.battery = battery;
+        this.imu = imu;
+        this.times = new double[capacity];
+        this.voltages = new double[capacity];
+        this.positions = new int[capacity];
+        this.velocities = new double[capacity];
+        this.accelerations = new double[capacity];
+        this.motorPositions = new int[motors.size()];
+        this.powers = new double[motors.size()];
+        this.directions = new double[motors.size()];
+        for (int i = 0; i < directions.length; i++) {
+            directions[i] = 1;
+        }
+    }
+
+    /**
+     * Creates a characterization routine for a mecanum drive, driving the major diagonal forward and
+     * the minor diagonal backward in the linear tests so the robot drives forward instead of strafing
+     * @param drive the drive
+     * @param battery where the battery voltage comes from
+     * @param imu the IMU, for the track width test, or null
+     * @param capacity how many samples to make room for, across every test
+     * @return the routine
+     */
+    public static DriveCharacterization forMecanum(MecanumDrive drive, BatteryVoltageSampler battery, IMUWrapper imu, int capacity) {
+        DriveCharacterization characterization = new DriveCharacterization(drive.getWheels(), 2, battery, imu, capacity);
+        characterization.setForwardDirections(1, -1, -1, 1);
+        return characterization;
+    }
+
+    /**
+     * Sets which way each motor turns for the robot to drive forward in the linear tests
+     * @param directions 1 or -1 for each motor, in the group's order; all 1 by default
+     */
+    public void setForwardDirections(double... directions) {
+        if (directions.length != this.directions.length) {
+            throw new IllegalArgumentException("expected " + this.directions.length + " directions, got " + directions.length);
+        }
+        System.arraycopy(directions, 0, this.directions, 0, directions.length);
+    }
+
+    /**
+     * Sets the battery voltage the fitted powers are relative to
+     * @param nominalVoltage the voltage, usually 12
+     */
+    public void setNominalVoltage(double nominalVoltage) {
+        this.nominalVoltage = nominalVoltage;
+    }
+
+    /**
+     * Sets the slowest velocity used in the fit
+     * @param ticksPerSecond the velocity, in ticks per second
+     */
+    public void setMinVelocity(double ticksPerSecond) {
+        this.minVelocity = ticksPerSecond;
+    }
+
+    /**
+     * A test that drives straight at a power that changes over time, recording every loop
+     */
+    private abstract class LinearTest extends Action {
+        LinearTest(String goal) {
+            super(goal);
+        }
+
+        abstract double power(double elapsedSeconds);
+
+        @Override
+        protected void start() {
+            estimator.reset();
+            startTime = System.nanoTime();
+        }
+
+        @Override
+        protected void update() {
+            double elapsed = (System.nanoTime() - startTime) * 1e-9;
+            double power = power(elapsed);
+            for (int i = 0; i < powers.length; i++) {
+                powers[i] = power * directions[i];
+            }
+            motors.setPowers(powers);
+            record(power, elapsed);
+        }
+
+        @Override
+        protected void end(boolean interrupted) {
+            motors.stopMoving();
+        }
+    }
+
+    /**
+     * Makes a quasi-static test: the power ramps up slowly from 0
+     * @param powerPerSecond how fast to ramp, i.e. 0.05; negative to drive backward
+     * @param maxPower the power to stop at, from 0 to 1
+     * @return the test
+     */
+    public Action quasiStaticTest(final double powerPerSecond, final double maxPower) {
+        return new LinearTest("quasi-static test") {
+            private double power;
+
+            @Override
+            double power(double elapsedSeconds) {
+                power = MotorPair.clamp(powerPerSecond * elapsedSeconds, -maxPower, maxPower);
+                return power;
+            }
+
+            @Override
+            protected boolean isFinished() {
+                return Math.abs(power) >= maxPower;
+            }
+        };
+    }
+
+    /**
+     * Makes a step test: the power jumps straight to a value and stays there
+     * @param power the power, from -1 to 1
+     * @param durationMillis how long to run, in milliseconds
+     * @return the test
+     */
+    public Action stepTest(final double power, final long durationMillis) {
+        return new LinearTest("step test") {
+            @Override
+            double power(double elapsedSeconds) {
+                return power;
+            }
+
+            @Override
+            protected boolean isFinished() {
+                return System.nanoTime() - startTime >= durationMillis * 1000000L;
+            }
+        };
+    }
+
+    /**
+     * Makes a track width test: spins in place, adding up the turn from the IMU. When it finishes,
+     * the track width is the difference in wheel travel between the sides per radian of turn.
+     * For a mecanum drive this is an effective width, which includes the wheelbase too.
+     * @param power the power to spin at, from 0 to 1
+     * @param durationMillis how long to spin, in milliseconds
+     * @return the test
+     */
+    public Action trackWidthTest(final double power, final long durationMillis) {
+        if (imu == null) {
+            throw new IllegalStateException("the track width test needs an IMU");
+        }
+        return new Action("track width test") {
+            private double lastHeading;
+            private double turned;
+            private double startDifference;
+
+            @Override
+            protected void start() {
+                startTime = System.nanoTime();
+                lastHeading = heading();
+                turned = 0;
+                startDifference = sideDifference();
+                for (int i = 0; i < powers.length; i++) {
+                    powers[i] = i < leftCount ? power : -power;
+                }
+            }
+
+            @Override
+            protected void update() {
+                motors.setPowers(powers);
+                double heading = heading();
+                turned += Angle.difference(lastHeading, heading);
+                lastHeading = heading;
+            }
+
+            @Override
+            protected boolean isFinished() {
+                return System.nanoTime() - startTime >= durationMillis * 1000000L;
+            }
+
+            @Override
+            protected void end(boolean interrupted) {
+                motors.stopMoving();
+                if (!interrupted && Math.abs(turned) > 0.5) {
+                    // Each side travels (track width / 2) * angle, in opposite directions
+                    trackWidth = Math.abs((sideDifference() - startDifference) / turned);
+                }
+            }
+        };
+    }
+
+    private double heading() {
+        return imu.getOrientation().toAngleUnit(AngleUnit.RADIANS).firstAngle;
+    }
+
+    /**
+     * @return a motor's position from the last read, negated if the group inverts it, so it counts up
+     * when the group's power for it is positive
+     */
+    private double position(int i) {
+        return motors.getScale(i) < 0 ? -motorPositions[i] : motorPositions[i];
+    }
+
+    /**
+     * @return the first side's average position minus the other side's
+     */
+    private double sideDifference() {
+        motors.getCurrentPositions(motorPositions);
+        double left = 0;
+        double right = 0;
+        for (int i = 0; i < motorPositions.length; i++) {
+            if (i < leftCount) {
+                left += position(i);
+            } else {
+                right += position(i);
+            }
+        }
+        return left / leftCount - right / (motorPositions.length - leftCount);
+    }
+
+    private void record(double power, double elapsed) {
+        battery.update();
+        motors.getCurrentPositions(motorPositions);
+        double sum = 0;
+        for (int i = 0; i < motorPositions.length; i++) {
+            sum += position(i) * directions[i];
+        }
+        int position = (int) Math.round(sum / motorPositions.length);
+        estimator.update(System.nanoTime(), position);
+
+        if (count < times.length) {
+            times[count] = elapsed;
+            voltages[count] = power * battery.getVoltage();
+            positions[count] = position;
+            velocities[count] = estimator.getVelocity();
+            accelerations[count] = estimator.getAcceleration();
+            count++;
+        }
+    }
+
+    /**
+     * Fits kS, kV and kA to every sample recorded so far
+     * @return the constants, including the track width if it was measured
+     * @throws IllegalStateException if there aren't enough moving samples to fit
+     */
+    public DriveConstants fit() {
+        // Normal equations for voltage = kS * sign(v) + kV * v + kA * a
+        double[][] a = new double[3][4];
+        double sumV = 0;
+        double sumV2 = 0;
+        int used = 0;
+        for (int i = 0; i < count; i++) {
+            double velocity = velocities[i];
+            if (Math.abs(velocity) < minVelocity) continue;
+            double[] x = {Math.signum(velocity), velocity, accelerations[i]};
+            for (int row = 0; row < 3; row++) {
+                for (int column = 0; column < 3; column++) {
+                    a[row][column] += x[row] * x[column];
+                }
+                a[row][3] += x[row] * voltages[i];
+            }
+            sumV += voltages[i];
+            sumV2 += voltages[i] * voltages[i];
+            used++;
+        }
+        if (used < 3) {
+            throw new IllegalStateException("not enough moving samples to fit");
+        }
+
+        double[] k = solve(a);
+
+        double residual = 0;
+        for (int i = 0; i < count; i++) {
+            double velocity = velocities[i];
+            if (Math.abs(velocity) < minVelocity) continue;
+            double error = voltages[i] - (k[0] * Math.signum(velocity) + k[1] * velocity + k[2] * accelerations[i]);
+            residual += error * error;
+        }
+        double total = sumV2 - sumV * sumV / used;
+        double rSquared = total > 0 ? 1 - residual / total : 0;
+
+        return new DriveConstants(k[0] / nominalVoltage, k[1] / nominalVoltage, k[2] / nominalVoltage,
+                trackWidth, nominalVoltage, rSquared);
+    }
+
+    /**
+     * Solves a 3x3 system by Gaussian elimination with partial pivoting
+     * @param a the augmented matrix; it is overwritten
+     * @return the solution
+     */
+    private static double[] solve(double[][] a) {
+        int n = 3;
+        for (int column = 0; column < n; column++) {
+            int pivot = column;
+            for (int row = column + 1; row < n; row++) {
+                if (Math.abs(a[row][column]) > Math.abs(a[pivot][column])) pivot = row;
+            }
+            double[] swap = a[column];
+            a[column] = a[pivot];
+            a[pivot] = swap;
+            if (Math.abs(a[column][column]) < 1e-12) {
+                throw new IllegalStateException("the samples don't vary enough to fit; run both tests");
+            }
+            for (int row = column + 1; row < n; row++) {
+                double factor = a[row][column] / a[column][column];
+                for (int k = column; k <= n; k++) {
+                    a[row][k] -= factor * a[column][k];
+                }
+            }
+        }
+        double[] x = new double[n];
+        for (int row = n - 1; row >= 0; row--) {
+            double sum = a[row][n];
+            for (int k = row + 1; k < n; k++) {
+                sum -= a[row][k] * x[k];
+            }
+            x[row] = sum / a[row][row];
+        }
+        return x;
+    }
+
+    /**
+     * Throws away every recorded sample and the measured track width
+     */
+    public void clear() {
+        count = 0;
+        trackWidth = Double.NaN;
+    }
+
+    /**
+     * @return how many samples have been recorded
+     */
+    public int getSampleCount() {
+        return count;
+    }
+
+    /**
+     * @return the measured track width, in ticks per radian, or NaN if it hasn't been measured
+     */
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+
+    /**
+     * Copies out the recorded samples, i.e. to log them
+     * @param time where to put the time of each sample since its test started, in seconds
+     * @param voltage where to put the applied voltage
+     * @param position where to put the average encoder position, in ticks
+     * @param velocity where to put the velocity, in ticks per second
+     * @return how many samples were copied
+     */
+    public int getSamples(double[] time, double[] voltage, int[] position, double[] velocity) {
+        int n = Math.min(count, time.length);
+        System.arraycopy(times, 0, time, 0, n);
+        System.arraycopy(voltages, 0, voltage, 0, n);
+        System.arraycopy(positions, 0, position, 0, n);
+        System.arraycopy(velocities, 0, velocity, 0, n);
+        return n;
+    }
+}
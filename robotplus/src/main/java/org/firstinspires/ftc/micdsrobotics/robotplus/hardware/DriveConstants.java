@@ -0,0 +1,138 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * The measured constants of a drivetrain, from a {@link DriveCharacterization} run: the feedforward
+ * gains and the effective track width. Save them once, then load them in initHardware instead of
+ * guessing at constants like {@link org.firstinspires.ftc.micdsrobotics.robotplus.robodata.EncoderValues#REAL_WORLD_CONSTANT}:
+ * <pre>
+ *     DriveConstants constants = DriveConstants.load(DriveConstants.getDefaultFile());
+ *     mecanumDrive.enableVelocityControl(constants.toController(kP, kI, kD));
+ * </pre>
+ * @since 10/19/26
+ */
+public class DriveConstants {
+
+    /**
+     * The file constants are saved to by default, in the robot controller's settings folder
+     */
+    public static final String FILE_NAME = "DriveConstants.bin";
+
+    /**
+     * Marks the start of saved constants ("DRC1")
+     */
+    private static final int MAGIC = 0x44524331;
+
+    /**
+     * static power needed to get the drivetrain moving, at the nominal voltage
+     */
+    public final double kS;
+
+    /**
+     * power per tick per second, at the nominal voltage
+     */
+    public final double kV;
+
+    /**
+     * power per tick per second squared, at the nominal voltage
+     */
+    public final double kA;
+
+    /**
+     * the effective track width, in encoder ticks of wheel travel per radian of turn, or NaN if it wasn't measured
+     */
+    public final double trackWidth;
+
+    /**
+     * the battery voltage the powers are relative to
+     */
+    public final double nominalVoltage;
+
+    /**
+     * how much of the variation in voltage the fit explains, from 0 to 1
+     */
+    public final double rSquared;
+
+    public DriveConstants(double kS, double kV, double kA, double trackWidth, double nominalVoltage, double rSquared) {
+        this.kS = kS;
+        this.kV = kV;
+        this.kA = kA;
+        this.trackWidth = trackWidth;
+        this.nominalVoltage = nominalVoltage;
+        this.rSquared = rSquared;
+    }
+
+    /**
+     * Makes a velocity controller with these feedforward gains. Pair it with
+     * {@link Drivetrain#setVoltageCompensation(BatteryVoltageSampler, double)} at {@link DriveConstants#nominalVoltage}.
+     * @param kP power per tick per second of error
+     * @param kI power per tick of accumulated error
+     * @param kD power per tick per second squared of change in measured velocity
+     * @return the controller
+     */
+    public VelocityController toController(double kP, double kI, double kD) {
+        return new VelocityController(kS, kV, kA, kP, kI, kD);
+    }
+
+    /**
+     * @return the default file, {@link DriveConstants#FILE_NAME} in the settings folder
+     */
+    public static File getDefaultFile() {
+        return AppUtil.getInstance().getSettingsFile(FILE_NAME);
+    }
+
+    /**
+     * Saves the constants
+     * @param file the file to write
+     * @throws IOException if the file can't be written
+     */
+    public void save(File file) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeDouble(kS);
+            out.writeDouble(kV);
+            out.writeDouble(kA);
+            out.writeDouble(trackWidth);
+            out.writeDouble(nominalVoltage);
+            out.writeDouble(rSquared);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Loads constants saved with {@link DriveConstants#save(File)}
+     * @param file the file to read
+     * @return the loaded constants
+     * @throws IOException if the file can't be read or doesn't hold saved constants
+     */
+    public static DriveConstants load(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " does not hold drive constants");
+            }
+            return new DriveConstants(in.readDouble(), in.readDouble(), in.readDouble(),
+                    in.readDouble(), in.readDouble(), in.readDouble());
+        } finally {
+            in.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("kS %.4f, kV %.6f, kA %.7f, track width %.1f ticks/rad, R^2 %.3f",
+                kS, kV, kA, trackWidth, rSquared);
+    }
+}
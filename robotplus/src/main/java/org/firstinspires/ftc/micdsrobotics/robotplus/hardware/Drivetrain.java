@@ -21,6 +21,17 @@ public abstract class Drivetrain {
      */
     private Motor motorType;
 
+    /**
+     * the battery voltage used for voltage compensation, or null if it's off
+     * @see Drivetrain#setVoltageCompensation(BatteryVoltageSampler, double)
+     */
+    private BatteryVoltageSampler voltageSampler;
+
+    /**
+     * the voltage that commanded powers are meant for
+     */
+    private double nominalVoltage = 12.0;
+
     public abstract void defaultDrive(Gamepad gamepad, Telemetry telemetry);
 
     /**
@@ -60,4 +71,60 @@ public abstract class Drivetrain {
     public Motor getMotorType() {
         return motorType;
     }
+
+    /**
+     * Turns on voltage compensation: commanded powers are scaled by nominal voltage over the measured
+     * battery voltage, so that a power of 0.5 drives the same speed on a full battery as on a drained one.
+     * @param voltageSampler where the battery voltage comes from (null turns compensation off)
+     * @param nominalVoltage the voltage that commanded powers are meant for, typically 12V
+     */
+    public void setVoltageCompensation(BatteryVoltageSampler voltageSampler, double nominalVoltage) {
+        this.voltageSampler = voltageSampler;
+        this.nominalVoltage = nominalVoltage;
+    }
+
+    /**
+     * Gets the factor to scale commanded powers by for the current battery voltage.
+     * @return nominal voltage / measured voltage, or 1 if compensation is off or there is no reading yet
+     */
+    protected double getVoltageScale() {
+        if (voltageSampler == null) {
+            return 1;
+        }
+        double voltage = voltageSampler.getVoltage();
+        if (Double.isNaN(voltage) || voltage <= 0) {
+            return 1;
+        }
+        return nominalVoltage / voltage;
+    }
+
+    /**
+     * Applies voltage compensation to a power, clipping it to the motor's range
+     * @param power the commanded power
+     * @param scale the factor from {@link Drivetrain#getVoltageScale()}
+     * @return the power to actually send to the motor
+     */
+    protected static double compensate(double power, double scale) {
+        return MotorPair.clamp(power * scale, -1, 1);
+    }
+
+    /**
+     * Applies voltage compensation to every wheel's power together. If that pushes any of them past
+     * the motor's range, all of them are divided by the largest, so the wheels keep the same ratios
+     * and the robot keeps going the same way (just slower) instead of each wheel being clipped on its own.
+     * @param powers the commanded powers; overwritten with the powers to actually send to the motors
+     * @param scale the factor from {@link Drivetrain#getVoltageScale()}
+     */
+    protected static void compensate(double[] powers, double scale) {
+        double max = 1;
+        for (int i = 0; i < powers.length; i++) {
+            powers[i] *= scale;
+            max = Math.max(max, Math.abs(powers[i]));
+        }
+        if (max > 1) {
+            for (int i = 0; i < powers.length; i++) {
+                powers[i] /= max;
+            }
+        }
+    }
 }
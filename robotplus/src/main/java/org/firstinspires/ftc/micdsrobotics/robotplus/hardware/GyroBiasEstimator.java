@@ -0,0 +1,187 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Angle;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Vector3d;
+
+/**
+ * Uses the drive encoders to tell when the robot is sitting still, and uses those moments to
+ * keep the IMU honest:
+ * <ul>
+ *     <li>any heading change while stationary is drift, so it is added to an offset that
+ *     {@link GyroBiasEstimator#getHeading()} takes back out,</li>
+ *     <li>the gyro rate while stationary is all bias, so it is averaged into a gyro bias estimate, and
+ *     while the robot moves, that bias times the loop time is added to the offset instead,</li>
+ *     <li>the acceleration while stationary is all bias, so it is averaged into an accelerometer
+ *     bias estimate that the integrator subtracts from then on,</li>
+ *     <li>and the integrator's velocity is zeroed (a zero-velocity update).</li>
+ * </ul>
+ * Each update is constant time and doesn't allocate.
+ * @since 10/19/26
+ */
+public class GyroBiasEstimator {
+
+    private final IMUAccelerationIntegrator integrator;
+    private final int[] lastPositions;
+    private boolean hasPositions;
+
+    private int stationaryTicks = 2;
+    private int stationarySamples = 10;
+    private double alpha = 0.02;
+
+    private int stillCount;
+    private boolean stationary;
+    private double lastRawHeading = Double.NaN;
+    private long lastTime;
+    private double headingDrift;
+    private double gyroBias;
+    private double accelBiasX;
+    private double accelBiasY;
+    private double accelBiasZ;
+    private long zeroVelocityUpdates;
+
+    private final Vector3d position = new Vector3d();
+    private final Vector3d velocity = new Vector3d();
+    private final Vector3d acceleration = new Vector3d();
+
+    /**
+     * Creates an estimator
+     * @param encoderCount how many encoders will be given to {@link GyroBiasEstimator#update}
+     * @param integrator the integrator to apply zero-velocity updates and accelerometer bias to, or null
+     */
+    public GyroBiasEstimator(int encoderCount, IMUAccelerationIntegrator integrator) {
+        this.lastPositions = new int[encoderCount];
+        this.integrator = integrator;
+    }
+
+    /**
+     * Sets what counts as stationary
+     * @param ticks the most any encoder may move between updates
+     * @param samples how many updates in a row every encoder must stay within that
+     */
+    public void setStationaryThreshold(int ticks, int samples) {
+        this.stationaryTicks = ticks;
+        this.stationarySamples = samples;
+    }
+
+    /**
+     * Sets how quickly the bias estimates follow new stationary readings
+     * @param alpha the weight of a new reading, from 0 to 1
+     */
+    public void setAlpha(double alpha) {
+        this.alpha = alpha;
+    }
+
+    /**
+     * Updates the estimates, timed by {@link System#nanoTime()}. Call once per loop.
+     * @param encoderPositions the current position of every drive encoder
+     * @param rawHeading the IMU's heading, in radians
+     * @param yawRate the IMU's rate of turn, in radians per second, in the same direction as the heading
+     * @return whether the robot is stationary
+     */
+    public boolean update(int[] encoderPositions, double rawHeading, double yawRate) {
+        return update(System.nanoTime(), encoderPositions, rawHeading, yawRate);
+    }
+
+    /**
+     * Updates the estimates. Call once per loop.
+     * @param timeNanos when the readings were taken, i.e. the loop's timestamp, in nanoseconds
+     * @param encoderPositions the current position of every drive encoder
+     * @param rawHeading the IMU's heading, in radians
+     * @param yawRate the IMU's rate of turn, in radians per second, in the same direction as the heading
+     * @return whether the robot is stationary
+     */
+    public boolean update(long timeNanos, int[] encoderPositions, double rawHeading, double yawRate) {
+        double dt = hasPositions ? (timeNanos - lastTime) * 1e-9 : 0;
+        lastTime = timeNanos;
+
+        boolean still = hasPositions;
+        for (int i = 0; i < lastPositions.length; i++) {
+            if (Math.abs(encoderPositions[i] - lastPositions[i]) > stationaryTicks) {
+                still = false;
+            }
+            lastPositions[i] = encoderPositions[i];
+        }
+        hasPositions = true;
+        stillCount = still ? stillCount + 1 : 0;
+        boolean wasStationary = stationary;
+        stationary = stillCount >= stationarySamples;
+
+        if (stationary && wasStationary && !Double.isNaN(lastRawHeading)) {
+            // Still the whole time, so every bit of the heading change is drift
+            headingDrift += Angle.difference(lastRawHeading, rawHeading);
+        } else if (dt > 0) {
+            // Moving, so the best guess at the drift is the bias
+            headingDrift += gyroBias * dt;
+        }
+
+        if (stationary) {
+            gyroBias += alpha * (yawRate - gyroBias);
+
+            if (integrator != null) {
+                // The integrator already subtracts the current bias, so what's left over is the error in it
+                integrator.getSnapshot(position, velocity, acceleration);
+                accelBiasX += alpha * acceleration.x;
+                accelBiasY += alpha * acceleration.y;
+                accelBiasZ += alpha * acceleration.z;
+                integrator.setAccelerationBias(accelBiasX, accelBiasY, accelBiasZ);
+                integrator.requestZeroVelocity();
+                zeroVelocityUpdates++;
+            }
+        }
+        lastRawHeading = rawHeading;
+        return stationary;
+    }
+
+    /**
+     * Takes the drift back out of a heading
+     * @param rawHeading the IMU's heading, in radians
+     * @return the corrected heading, in radians
+     */
+    public double correctHeading(double rawHeading) {
+        return Angle.normalize(rawHeading - headingDrift);
+    }
+
+    /**
+     * @return the last heading given to update, with drift taken out, in radians
+     */
+    public double getHeading() {
+        return Double.isNaN(lastRawHeading) ? 0 : correctHeading(lastRawHeading);
+    }
+
+    /**
+     * @return whether the robot was stationary as of the last update
+     */
+    public boolean isStationary() {
+        return stationary;
+    }
+
+    /**
+     * @return the estimated gyro bias, in radians per second; subtract it from yaw rates
+     */
+    public double getGyroBias() {
+        return gyroBias;
+    }
+
+    /**
+     * @return the total heading drift taken out so far, in radians
+     */
+    public double getHeadingDrift() {
+        return headingDrift;
+    }
+
+    /**
+     * Fills in the estimated accelerometer bias
+     * @param bias where to put the bias, in meters per second squared
+     * @return bias
+     */
+    public Vector3d getAccelerationBias(Vector3d bias) {
+        return bias.set(accelBiasX, accelBiasY, accelBiasZ);
+    }
+
+    /**
+     * @return the number of zero-velocity updates applied to the integrator
+     */
+    public long getZeroVelocityUpdates() {
+        return zeroVelocityUpdates;
+    }
+}
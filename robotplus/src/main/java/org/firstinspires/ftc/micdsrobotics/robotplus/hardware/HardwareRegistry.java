@@ -0,0 +1,287 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import com.qualcomm.robotcore.hardware.CRServo;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolves devices out of a HardwareMap once and keeps the handles around, so that every
+ * wrapper asking for "left front" gets the same motor without another lookup. Slow devices
+ * (the IMU, Vuforia) can be handed off to be initialized on a background thread or only when
+ * they are first used, and every initialization is timed for {@link #getInitReport()}.
+ * @since 10/19/26
+ */
+public class HardwareRegistry {
+
+    /**
+     * the HardwareMap devices are resolved from
+     */
+    private final HardwareMap hardwareMap;
+
+    /**
+     * resolved device handles, keyed by type and configuration name
+     */
+    private final Map<String, Object> devices = new HashMap<>();
+
+    /**
+     * everything handed to {@link #initAsync(String, Callable)} or {@link #initLazy(String, Callable)}
+     */
+    private final List<Deferred<?>> deferred = new ArrayList<>();
+
+    /**
+     * timing entries for the init report, in the order they finished
+     */
+    private final List<String> report = new ArrayList<>();
+
+    /**
+     * worker threads for asynchronous initialization, created the first time one is needed
+     */
+    private ExecutorService executor;
+
+    /**
+     * Creates a registry on top of the OpMode's HardwareMap
+     * @param hardwareMap the HardwareMap from your OpMode
+     */
+    public HardwareRegistry(HardwareMap hardwareMap) {
+        this.hardwareMap = hardwareMap;
+    }
+
+    /**
+     * Gets a device from the HardwareMap, only looking it up the first time it is asked for.
+     * @param type the class or interface of the device
+     * @param name the name of the device in the robot configuration
+     * @param <T> the device type
+     * @return the (cached) device
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Class<? extends T> type, String name) {
+        String key = type.getName() + ':' + name;
+        synchronized (devices) {
+            Object device = devices.get(key);
+            if (device == null) {
+                long start = System.nanoTime();
+                device = hardwareMap.get(type, name);
+                devices.put(key, device);
+                record(name, System.nanoTime() - start, "resolved");
+            }
+            return (T) device;
+        }
+    }
+
+    /**
+     * Gets a motor by its configuration name
+     * @param name the name of the motor in the robot configuration
+     * @return the (cached) motor
+     */
+    public DcMotor getMotor(String name) {
+        return get(DcMotor.class, name);
+    }
+
+    /**
+     * Gets a continuous rotation servo by its configuration name
+     * @param name the name of the servo in the robot configuration
+     * @return the (cached) servo
+     */
+    public CRServo getCRServo(String name) {
+        return get(CRServo.class, name);
+    }
+
+    /**
+     * Starts initializing something slow on a background thread right away, so that it runs
+     * alongside the rest of initHardware instead of holding it up.
+     * @param label the name to use in the init report
+     * @param initializer creates and initializes the device (or wrapper)
+     * @param <T> the type being initialized
+     * @return a handle whose {@link Deferred#get()} waits for the result
+     */
+    public <T> Deferred<T> initAsync(String label, Callable<T> initializer) {
+        final Deferred<T> handle = new Deferred<>(label, initializer, true);
+        synchronized (deferred) {
+            deferred.add(handle);
+            if (executor == null) {
+                executor = Executors.newCachedThreadPool(new ThreadFactory() {
+                    private int count = 0;
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "robotplus-init-" + count++);
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            handle.future = executor.submit(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    return handle.initialize();
+                }
+            });
+        }
+        return handle;
+    }
+
+    /**
+     * Defers initializing something until the first time {@link Deferred#get()} is called,
+     * for devices that are not needed by every OpMode.
+     * @param label the name to use in the init report
+     * @param initializer creates and initializes the device (or wrapper)
+     * @param <T> the type being initialized
+     * @return a handle that initializes on first use
+     */
+    public <T> Deferred<T> initLazy(String label, Callable<T> initializer) {
+        Deferred<T> handle = new Deferred<>(label, initializer, false);
+        synchronized (deferred) {
+            deferred.add(handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Waits for every asynchronous initialization to finish. Lazy ones are left alone.
+     * @param timeoutMillis the longest to wait in total, in milliseconds
+     * @return true if everything finished in time
+     */
+    public boolean awaitAll(long timeoutMillis) {
+        List<Deferred<?>> handles;
+        synchronized (deferred) {
+            handles = new ArrayList<>(deferred);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Deferred<?> handle : handles) {
+            if (handle.future == null) continue;
+            try {
+                handle.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                // Recorded in the report; whoever calls get() on the handle sees the failure.
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops the background init threads. Anything still initializing is allowed to finish.
+     */
+    public void shutdown() {
+        synchronized (deferred) {
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Gets a summary of how long each device took to resolve or initialize, for telemetry.
+     * @return one line per device, in the order they finished
+     */
+    public String getInitReport() {
+        StringBuilder builder = new StringBuilder();
+        synchronized (report) {
+            for (String line : report) {
+                builder.append(line).append('\n');
+            }
+        }
+        synchronized (deferred) {
+            for (Deferred<?> handle : deferred) {
+                if (!handle.isDone()) {
+                    builder.append(handle.label).append(": ")
+                            .append(handle.async ? "initializing" : "not used yet").append('\n');
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns {@link HardwareRegistry#hardwareMap}
+     * @return {@link HardwareRegistry#hardwareMap}
+     */
+    public HardwareMap getHardwareMap() {
+        return hardwareMap;
+    }
+
+    private void record(String label, long nanos, String how) {
+        synchronized (report) {
+            report.add(String.format(Locale.US, "%s: %.1f ms (%s)", label, nanos / 1e6, how));
+        }
+    }
+
+    /**
+     * Handle to something that is initialized in the background or on first use.
+     * @param <T> the type being initialized
+     */
+    public class Deferred<T> {
+        private final String label;
+        private final boolean async;
+        private Callable<T> initializer;
+        private volatile boolean done;
+        private T value;
+        private Exception failure;
+        private Future<T> future;
+
+        private Deferred(String label, Callable<T> initializer, boolean async) {
+            this.label = label;
+            this.initializer = initializer;
+            this.async = async;
+        }
+
+        private synchronized T initialize() throws Exception {
+            if (!done) {
+                long start = System.nanoTime();
+                try {
+                    value = initializer.call();
+                    record(label, System.nanoTime() - start, async ? "async" : "lazy");
+                } catch (Exception e) {
+                    failure = e;
+                    record(label, System.nanoTime() - start, "failed: " + e);
+                } finally {
+                    initializer = null;
+                    done = true;
+                }
+            }
+            if (failure != null) throw failure;
+            return value;
+        }
+
+        /**
+         * Gets the initialized value, waiting for (or running) the initialization if needed.
+         * @return the initialized value
+         * @throws IllegalStateException if the initialization failed
+         */
+        public T get() {
+            try {
+                return initialize();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(label + " failed to initialize", e);
+            }
+        }
+
+        /**
+         * @return whether initialization has finished (successfully or not)
+         */
+        public boolean isDone() {
+            return done;
+        }
+    }
+}
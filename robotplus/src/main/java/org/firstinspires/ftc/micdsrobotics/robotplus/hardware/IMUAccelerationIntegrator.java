@@ -36,29 +36,80 @@ package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
 import com.qualcomm.hardware.bosch.BNO055IMU;
 import com.qualcomm.robotcore.util.RobotLog;
 
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Vector3d;
 import org.firstinspires.ftc.robotcore.external.navigation.Acceleration;
 import org.firstinspires.ftc.robotcore.external.navigation.Position;
 import org.firstinspires.ftc.robotcore.external.navigation.Velocity;
 
-import static org.firstinspires.ftc.robotcore.external.navigation.NavUtil.meanIntegrate;
 import static org.firstinspires.ftc.robotcore.external.navigation.NavUtil.minus;
 import static org.firstinspires.ftc.robotcore.external.navigation.NavUtil.plus;
 import static org.firstinspires.ftc.robotcore.external.navigation.NavUtil.scale;
 
 /**
  * Created by BAbel on 11/6/2017.
+ *
+ * The IMU thread calls {@link #update(Acceleration)} every few milliseconds, so it doesn't allocate:
+ * the integration runs on primitive vectors (in meters), and results are published into volatile
+ * fields guarded by a sequence number (a seqlock). Readers retry until they copy a set of results
+ * that wasn't being written, so position, velocity and acceleration always come from the same update.
+ * {@link #getSnapshot} copies into vectors you pass in without allocating; the SDK getters return
+ * new objects, which are the reader's to keep.
  */
 
 public class IMUAccelerationIntegrator implements BNO055IMU.AccelerationIntegrator {
 
+    /**
+     * How often (in samples) to log while logging is enabled
+     */
+    private static final int LOG_EVERY = 100;
+
     BNO055IMU.Parameters parameters;
-    Position position;
-    Velocity velocity;
-    Acceleration acceleration;
 
-    public Position getPosition() { return this.position; }
-    public Velocity getVelocity() { return this.velocity; }
-    public Acceleration getAcceleration() { return this.acceleration; }
+    // Integration state, only touched by the thread calling update()
+    private final Vector3d position = new Vector3d();
+    private final Vector3d velocity = new Vector3d();
+    private final Vector3d acceleration = new Vector3d();
+    private final Vector3d previousAcceleration = new Vector3d();
+    private final Vector3d previousVelocity = new Vector3d();
+    private long accelerationTime;
+    private boolean hasAcceleration;
+    private long sampleCount;
+
+    // Corrections from other threads, applied on the next update
+    private volatile boolean zeroVelocityRequested;
+    private volatile double biasX;
+    private volatile double biasY;
+    private volatile double biasZ;
+
+    /**
+     * odd while results are being published, so readers can tell they raced the writer. Every published
+     * field is volatile too, so the writes and reads can't be reordered around the sequence number.
+     */
+    private volatile long sequence;
+    private volatile double publishedPositionX, publishedPositionY, publishedPositionZ;
+    private volatile double publishedVelocityX, publishedVelocityY, publishedVelocityZ;
+    private volatile double publishedAccelerationX, publishedAccelerationY, publishedAccelerationZ;
+    private volatile long publishedTime;
+    private volatile boolean publishedHasAcceleration;
+
+    public Position getPosition() {
+        Vector3d position = new Vector3d();
+        long time = getSnapshot(position, null, null);
+        return position.copyTo(new Position(), time);
+    }
+
+    public Velocity getVelocity() {
+        Vector3d velocity = new Vector3d();
+        long time = getSnapshot(null, velocity, null);
+        return velocity.copyTo(new Velocity(), time);
+    }
+
+    public Acceleration getAcceleration() {
+        if (!publishedHasAcceleration) return null;
+        Vector3d acceleration = new Vector3d();
+        long time = getSnapshot(null, null, acceleration);
+        return acceleration.copyTo(new Acceleration(), time);
+    }
 
     //------------------------------------------------------------------------------------------
     // Construction
@@ -66,9 +117,7 @@ public class IMUAccelerationIntegrator implements BNO055IMU.AccelerationIntegrat
 
     IMUAccelerationIntegrator() {
         this.parameters = null;
-        this.position = new Position();
-        this.velocity = new Velocity();
-        this.acceleration = null;
+        publish(0);
     }
 
     //------------------------------------------------------------------------------------------
@@ -78,9 +127,10 @@ public class IMUAccelerationIntegrator implements BNO055IMU.AccelerationIntegrat
     @Override public void initialize(BNO055IMU.Parameters parameters, Position initialPosition, Velocity initialVelocity)
     {
         this.parameters = parameters;
-        this.position = initialPosition != null ? initialPosition : this.position;
-        this.velocity = initialVelocity != null ? initialVelocity : this.velocity;
-        this.acceleration = null;
+        if (initialPosition != null) this.position.set(initialPosition);
+        if (initialVelocity != null) this.velocity.set(initialVelocity);
+        this.hasAcceleration = false;
+        publish(0);
     }
 
     @Override public void update(Acceleration linearAcceleration)
@@ -88,34 +138,110 @@ public class IMUAccelerationIntegrator implements BNO055IMU.AccelerationIntegrat
         // We should always be given a timestamp here
         if (linearAcceleration.acquisitionTime != 0)
         {
+            long time = linearAcceleration.acquisitionTime;
+
             // We can only integrate if we have a previous acceleration to baseline from
-            if (acceleration != null)
+            if (hasAcceleration)
             {
-                Acceleration accelPrev    = acceleration;
-                Velocity     velocityPrev = velocity;
-                acceleration = linearAcceleration;
+                double dt = (time - accelerationTime) * 1e-9;
+                previousAcceleration.set(acceleration);
+                previousVelocity.set(velocity);
+                acceleration.set(linearAcceleration).subtract(biasX, biasY, biasZ);
 
-                if (accelPrev.acquisitionTime != 0)
+                if (zeroVelocityRequested)
                 {
-                    //epsilon can be anything: the lower the number, the greater the accuracy, but also the worse performance.
-                    Velocity deltaVelocity = tightRecursiveSimpson(acceleration, accelPrev, 1e-12);
-                    velocity = plus(velocity, deltaVelocity);
+                    // The robot is known to be sitting still, so whatever velocity we've built up is error
+                    zeroVelocityRequested = false;
+                    previousVelocity.setZero();
+                    velocity.setZero();
+                    previousAcceleration.setZero();
                 }
 
-                if (velocityPrev.acquisitionTime != 0)
-                {
-                    //epsilon can be anything: the lower the number, the greater the accuracy, but also the worse performance.
-                    Position deltaPosition = tightRecursiveSimpson(velocity, velocityPrev, 1e-12);
-                    position = plus(position, deltaPosition);
-                }
+                // Simpson's rule, with only the two endpoints to go on, works out to the trapezoid rule:
+                // (prev + 4 * (prev + cur) / 2 + cur) / 6 = (prev + cur) / 2
+                velocity.addScaled(previousAcceleration, dt / 2).addScaled(acceleration, dt / 2);
+                position.addScaled(previousVelocity, dt / 2).addScaled(velocity, dt / 2);
 
-                if (parameters != null && parameters.loggingEnabled)
+                if (parameters != null && parameters.loggingEnabled && ++sampleCount % LOG_EVERY == 0)
                 {
-                    RobotLog.vv(parameters.loggingTag, "dt=%.3fs accel=%s vel=%s pos=%s", (acceleration.acquisitionTime - accelPrev.acquisitionTime)*1e-9, acceleration, velocity, position);
+                    RobotLog.vv(parameters.loggingTag, "dt=%.3fs accel=%s vel=%s pos=%s", dt, acceleration, velocity, position);
                 }
             }
             else
-                acceleration = linearAcceleration;
+            {
+                acceleration.set(linearAcceleration).subtract(biasX, biasY, biasZ);
+                hasAcceleration = true;
+            }
+            accelerationTime = time;
+            publish(time);
+        }
+    }
+
+    /**
+     * Publishes the current state for other threads. Only the thread calling update() writes, so the
+     * sequence number doesn't need a compare-and-set.
+     */
+    private void publish(long time) {
+        long start = sequence;
+        sequence = start + 1;
+        publishedPositionX = position.x;
+        publishedPositionY = position.y;
+        publishedPositionZ = position.z;
+        publishedVelocityX = velocity.x;
+        publishedVelocityY = velocity.y;
+        publishedVelocityZ = velocity.z;
+        publishedAccelerationX = acceleration.x;
+        publishedAccelerationY = acceleration.y;
+        publishedAccelerationZ = acceleration.z;
+        publishedTime = time;
+        publishedHasAcceleration = hasAcceleration;
+        sequence = start + 2;
+    }
+
+    /**
+     * Zeroes the integrated velocity on the next update (a zero-velocity update), for when something else
+     * knows the robot isn't moving. Safe to call from any thread.
+     */
+    public void requestZeroVelocity() {
+        zeroVelocityRequested = true;
+    }
+
+    /**
+     * Sets the accelerometer bias subtracted from every sample. Safe to call from any thread.
+     * @param x the x bias, in meters per second squared
+     * @param y the y bias, in meters per second squared
+     * @param z the z bias, in meters per second squared
+     */
+    public void setAccelerationBias(double x, double y, double z) {
+        biasX = x;
+        biasY = y;
+        biasZ = z;
+    }
+
+    /**
+     * Copies the latest results without allocating, guaranteeing that all three come from the same update.
+     * Safe to call from any thread.
+     * @param position where to put the position, in meters, or null
+     * @param velocity where to put the velocity, in meters per second, or null
+     * @param acceleration where to put the acceleration, in meters per second squared, or null
+     * @return the time of the update the results are from, in nanoseconds
+     */
+    public long getSnapshot(Vector3d position, Vector3d velocity, Vector3d acceleration) {
+        while (true) {
+            long start = sequence;
+            if ((start & 1) != 0) {
+                Thread.yield();
+                continue;
+            }
+
+            if (position != null) position.set(publishedPositionX, publishedPositionY, publishedPositionZ);
+            if (velocity != null) velocity.set(publishedVelocityX, publishedVelocityY, publishedVelocityZ);
+            if (acceleration != null) acceleration.set(publishedAccelerationX, publishedAccelerationY, publishedAccelerationZ);
+            long time = publishedTime;
+
+            if (sequence == start) {
+                return time;
+            }
         }
     }
 
@@ -1,15 +1,18 @@
 package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
 
 import com.qualcomm.hardware.bosch.BNO055IMU;
-import com.qualcomm.hardware.bosch.JustLoggingAccelerationIntegrator;
-import com.qualcomm.hardware.bosch.NaiveAccelerationIntegrator;
 import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.util.ReadWriteFile;
+import com.qualcomm.robotcore.util.RobotLog;
 
-import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
-import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
 import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
 import org.firstinspires.ftc.robotcore.external.navigation.Position;
 import org.firstinspires.ftc.robotcore.external.navigation.Velocity;
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Wrapper class for the REV's onboard IMU
@@ -19,42 +22,245 @@ import org.firstinspires.ftc.robotcore.external.navigation.Velocity;
 
 public class IMUWrapper {
 
+    /**
+     * The calibration file written by the SDK's BNO055 calibration sample opmode
+     */
+    public static final String CALIBRATION_FILE = "AdafruitIMUCalibration.json";
+
+    /**
+     * The longest {@link IMUWrapper#getIMU()} and {@link IMUWrapper#requireIMU()} wait for initialization,
+     * in milliseconds; the BNO055 normally takes about a second, so anything past this means it is stuck
+     */
+    public static final long INITIALIZATION_TIMEOUT_MILLIS = 3000;
+
+    /**
+     * Where the IMU is in its bring-up
+     */
+    public enum Status {
+        INITIALIZING,
+        READY,
+        FAILED
+    }
+
+    /**
+     * Calibration data parsed from {@link IMUWrapper#CALIBRATION_FILE}. Static so that it stays
+     * loaded across OpMode runs; the app process outlives the OpMode.
+     */
+    private static BNO055IMU.CalibrationData cachedCalibration;
+
     private BNO055IMU imu;
 
+    /**
+     * The one set of parameters this IMU is initialized with
+     */
+    private final BNO055IMU.Parameters parameters;
+
+    /**
+     * Integrates the IMU's acceleration into velocity and position, without allocating per sample
+     */
+    private final IMUAccelerationIntegrator integrator;
+
+    private final CountDownLatch initialized = new CountDownLatch(1);
+
+    private volatile Status status = Status.INITIALIZING;
+
     public IMUWrapper(HardwareMap map) {
-        BNO055IMU.Parameters params = new BNO055IMU.Parameters();
-        params.angleUnit            = BNO055IMU.AngleUnit.DEGREES;
-        params.accelUnit            = BNO055IMU.AccelUnit.METERS_PERSEC_PERSEC;
-        params.calibrationDataFile  = "AdafruitIMUCalibration.json"; // see the calibration sample opmode
-        params.loggingEnabled       = true;
-        params.loggingTag           = "IMU";
-        //trying to just use the bad but default one [NAH]
-        // Our custom IMUAccelerationIntegrator class is causing stack overflows and crashing the app
-        params.accelerationIntegrationAlgorithm = new JustLoggingAccelerationIntegrator();
+        this(map, "sensor_imu", false);
+    }
 
-        this.imu = map.get(BNO055IMU.class, "sensor_imu");
-        this.imu.initialize(params);
+    /**
+     * Creates the wrapper, optionally initializing the IMU on a background thread so that the
+     * rest of initHardware doesn't have to wait for it. Use {@link IMUWrapper#getStatus()} or
+     * {@link IMUWrapper#awaitInitialized(long)} to see when it is done.
+     * @param map the HardwareMap from your OpMode
+     * @param name the name of the IMU in the robot configuration
+     * @param initializeAsync whether to initialize on a background thread
+     */
+    public IMUWrapper(HardwareMap map, String name, boolean initializeAsync) {
+        this(map.get(BNO055IMU.class, name), initializeAsync);
+    }
 
-        this.imu.startAccelerationIntegration(new Position(), new Velocity(),5);
+    /**
+     * Creates the wrapper for the IMU named "sensor_imu", resolved through the robot's HardwareRegistry
+     * @param registry the robot's HardwareRegistry
+     */
+    public IMUWrapper(HardwareRegistry registry) {
+        this(registry, "sensor_imu", false);
     }
 
-    public BNO055IMU getIMU() { return this.imu; }
+    /**
+     * The same as {@link IMUWrapper#IMUWrapper(HardwareMap, String, boolean)}, resolving the IMU
+     * through the robot's HardwareRegistry
+     * @param registry the robot's HardwareRegistry
+     * @param name the name of the IMU in the robot configuration
+     * @param initializeAsync whether to initialize on a background thread
+     */
+    public IMUWrapper(HardwareRegistry registry, String name, boolean initializeAsync) {
+        this(registry.<BNO055IMU>get(BNO055IMU.class, name), initializeAsync);
+    }
 
-    public Orientation getOrientation() { return this.imu.getAngularOrientation(); }
+    private IMUWrapper(BNO055IMU imu, boolean initializeAsync) {
+        this.integrator = new IMUAccelerationIntegrator();
+        this.parameters = createParameters(integrator);
+        this.imu = imu;
 
-    public Position getPosition() { return this.imu.getPosition(); }
+        if (initializeAsync) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    initialize();
+                }
+            }, "robotplus-imu-init");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            initialize();
+        }
+    }
 
-    public BNO055IMU.Parameters getInitilizationParameters(){
+    private void initialize() {
+        try {
+            if (this.imu.initialize(parameters)) {
+                this.imu.startAccelerationIntegration(new Position(), new Velocity(), 5);
+                status = Status.READY;
+            } else {
+                status = Status.FAILED;
+            }
+        } catch (RuntimeException e) {
+            RobotLog.ee("IMU", e, "IMU initialization failed");
+            status = Status.FAILED;
+        } finally {
+            initialized.countDown();
+        }
+    }
+
+    private static BNO055IMU.Parameters createParameters(IMUAccelerationIntegrator integrator) {
         BNO055IMU.Parameters params = new BNO055IMU.Parameters();
         params.angleUnit            = BNO055IMU.AngleUnit.DEGREES;
         params.accelUnit            = BNO055IMU.AccelUnit.METERS_PERSEC_PERSEC;
-        params.calibrationDataFile  = "BNO055IMUCalibration.json"; // see the calibration sample opmode
+        params.calibrationData      = loadCalibration();
+        // Only fall back to having the SDK read the file if we couldn't
+        params.calibrationDataFile  = params.calibrationData == null ? CALIBRATION_FILE : null;
         params.loggingEnabled       = true;
         params.loggingTag           = "IMU";
-        //trying to just use the bad but default one [NAH]
-        params.accelerationIntegrationAlgorithm = new IMUAccelerationIntegrator();
-
+        // IMUAccelerationIntegrator used to overflow the stack in its recursive Simpson's rule; it doesn't recurse anymore
+        params.accelerationIntegrationAlgorithm = integrator;
         return params;
     }
 
+    /**
+     * Reads and parses the calibration file the first time it is needed, then keeps it in memory.
+     * @return a copy of the calibration data, or null if there is no calibration file
+     */
+    private static synchronized BNO055IMU.CalibrationData loadCalibration() {
+        if (cachedCalibration == null) {
+            File file = AppUtil.getInstance().getSettingsFile(CALIBRATION_FILE);
+            if (file.exists()) {
+                try {
+                    cachedCalibration = BNO055IMU.CalibrationData.deserialize(ReadWriteFile.readFile(file));
+                } catch (RuntimeException e) {
+                    RobotLog.ww("IMU", e, "unable to parse %s", CALIBRATION_FILE);
+                }
+            }
+        }
+        return cachedCalibration == null ? null : cachedCalibration.clone();
+    }
+
+    /**
+     * Saves the IMU's current calibration to {@link IMUWrapper#CALIBRATION_FILE} and
+     * replaces the in-memory copy, so the next OpMode picks it up without reading the file.
+     * @throws IllegalStateException if the IMU isn't ready, as in {@link IMUWrapper#requireIMU()}
+     */
+    public void saveCalibration() {
+        BNO055IMU.CalibrationData data = requireIMU().readCalibrationData();
+        synchronized (IMUWrapper.class) {
+            ReadWriteFile.writeFile(AppUtil.getInstance().getSettingsFile(CALIBRATION_FILE), data.serialize());
+            cachedCalibration = data;
+        }
+    }
+
+    /**
+     * Throws away the in-memory calibration, so it is read from the file again next time.
+     */
+    public static synchronized void clearCachedCalibration() {
+        cachedCalibration = null;
+    }
+
+    /**
+     * Waits for the IMU to finish initializing.
+     * @param timeoutMillis the longest to wait, in milliseconds
+     * @return true if the IMU is ready
+     */
+    public boolean awaitInitialized(long timeoutMillis) {
+        try {
+            initialized.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return status == Status.READY;
+    }
+
+    /**
+     * @return where the IMU is in its bring-up; never blocks
+     */
+    public Status getStatus() { return status; }
+
+    /**
+     * Gets a short description of the IMU's state for telemetry, without waiting on initialization.
+     * @return the status, plus the calibration status once the IMU is ready
+     */
+    public String getCalibrationStatus() {
+        if (status != Status.READY) {
+            return status.toString();
+        }
+        return imu.getCalibrationStatus().toString() + (imu.isGyroCalibrated() ? " gyro ok" : " gyro calibrating");
+    }
+
+    /**
+     * Gets the IMU, waiting up to {@link IMUWrapper#INITIALIZATION_TIMEOUT_MILLIS} for a pending
+     * initialization first. Never throws: if initialization failed or is still going after the
+     * timeout, the IMU is returned anyway, so check {@link IMUWrapper#getStatus()} before relying on it.
+     * @return the IMU
+     * @see IMUWrapper#requireIMU()
+     */
+    public BNO055IMU getIMU() {
+        awaitInitialized(INITIALIZATION_TIMEOUT_MILLIS);
+        return this.imu;
+    }
+
+    /**
+     * Gets the IMU, waiting up to {@link IMUWrapper#INITIALIZATION_TIMEOUT_MILLIS} for it to finish
+     * initializing first.
+     * @return the IMU, initialized
+     * @throws IllegalStateException if the IMU failed to initialize, or still hasn't after the timeout
+     */
+    public BNO055IMU requireIMU() {
+        if (!awaitInitialized(INITIALIZATION_TIMEOUT_MILLIS)) {
+            throw new IllegalStateException("IMU is not ready: " + status);
+        }
+        return this.imu;
+    }
+
+    /**
+     * @return the IMU's orientation
+     * @throws IllegalStateException if the IMU isn't ready, as in {@link IMUWrapper#requireIMU()}
+     */
+    public Orientation getOrientation() { return requireIMU().getAngularOrientation(); }
+
+    /**
+     * @return the IMU's integrated position
+     * @throws IllegalStateException if the IMU isn't ready, as in {@link IMUWrapper#requireIMU()}
+     */
+    public Position getPosition() { return requireIMU().getPosition(); }
+
+    /**
+     * Gets the integrator the IMU's acceleration is integrated with
+     * @return the integrator
+     */
+    public IMUAccelerationIntegrator getIntegrator() { return this.integrator; }
+
+    public BNO055IMU.Parameters getInitilizationParameters(){
+        return this.parameters;
+    }
+
 }
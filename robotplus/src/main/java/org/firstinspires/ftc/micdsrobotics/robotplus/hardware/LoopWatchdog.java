@@ -0,0 +1,281 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.imagerecognition.VuforiaWrapper;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Watches how long each OpMode loop takes and sheds work when loops keep running long.
+ * When enough loops in a row go over the target period, the watchdog steps down one
+ * {@link Level}; once loops have had plenty of headroom for a while, it steps back up.
+ * Each level also does everything the levels above it do.
+ * <p>
+ * It can also stop the drivetrain if the loop stops calling {@link LoopWatchdog#tick()}
+ * altogether, so the robot doesn't keep driving on its last power while the loop is stuck.
+ * @since 10/19/26
+ */
+public class LoopWatchdog {
+
+    /**
+     * How much work is being shed, from none to the most
+     */
+    public enum Level {
+        FULL,
+        NO_TELEMETRY_FORMATTING,
+        REDUCED_SENSOR_RATES,
+        VISION_PAUSED;
+
+        public Level down() {
+            return this == VISION_PAUSED ? this : values()[ordinal() + 1];
+        }
+
+        public Level up() {
+            return this == FULL ? this : values()[ordinal() - 1];
+        }
+    }
+
+    /**
+     * Told whenever the watchdog changes level
+     */
+    public interface Listener {
+        void onLevelChanged(Level previous, Level current);
+    }
+
+    private final long targetNanos;
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private int overrunsToStepDown = 5;
+    private int headroomLoopsToStepUp = 50;
+    private double headroomFraction = 0.7;
+
+    private volatile Level level = Level.FULL;
+    private volatile long lastTick;
+    private int consecutiveOverruns;
+    private int consecutiveHeadroom;
+    private long overrunCount;
+    private long loopCount;
+    private double lastLoopMillis;
+    private final long[] loopsAtLevel = new long[Level.values().length];
+    private final long[] timesEntered = new long[Level.values().length];
+
+    private SensorScheduler sensorScheduler;
+    private double reducedRateScale = 0.5;
+    private double normalRateScale = 1;
+    private VuforiaWrapper vision;
+    private boolean pausedVision;
+
+    private Thread guard;
+    private volatile boolean guarding;
+
+    /**
+     * Creates a watchdog
+     * @param targetPeriodMillis how long a loop should take, in milliseconds
+     */
+    public LoopWatchdog(double targetPeriodMillis) {
+        this.targetNanos = (long) (targetPeriodMillis * 1e6);
+    }
+
+    /**
+     * Sets how quickly the watchdog steps down and back up
+     * @param overrunsToStepDown how many overrunning loops in a row step down a level
+     * @param headroomLoopsToStepUp how many loops in a row with headroom step back up a level
+     * @param headroomFraction a loop has headroom when it takes less than this fraction of the target period
+     */
+    public void setThresholds(int overrunsToStepDown, int headroomLoopsToStepUp, double headroomFraction) {
+        this.overrunsToStepDown = overrunsToStepDown;
+        this.headroomLoopsToStepUp = headroomLoopsToStepUp;
+        this.headroomFraction = headroomFraction;
+    }
+
+    /**
+     * Lowers the scheduler's sensor rates at {@link Level#REDUCED_SENSOR_RATES} and below
+     * @param scheduler the robot's sensor scheduler
+     * @param reducedRateScale the rate scale to use while reduced, i.e. 0.5 for half rate
+     */
+    public void setSensorScheduler(SensorScheduler scheduler, double reducedRateScale) {
+        this.sensorScheduler = scheduler;
+        this.reducedRateScale = reducedRateScale;
+        this.normalRateScale = scheduler.getRateScale();
+    }
+
+    /**
+     * Pauses image tracking at {@link Level#VISION_PAUSED}, and resumes it afterwards if it was running.
+     * Tracking has to be started with {@link VuforiaWrapper#activate()} for this to work: the SDK has no
+     * way to ask the trackables whether they're active, so trackables activated directly (through
+     * {@link org.firstinspires.ftc.micdsrobotics.robotplus.imagerecognition.TrackerLoader#getTrackables()})
+     * look inactive and are left running.
+     * @param vision the robot's Vuforia wrapper
+     */
+    public void setVision(VuforiaWrapper vision) {
+        this.vision = vision;
+    }
+
+    /**
+     * Adds something to be told about level changes
+     * @param listener the listener
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Call once at the start of every loop.
+     */
+    public void tick() {
+        long now = System.nanoTime();
+        long previous = lastTick;
+        lastTick = now;
+        if (previous == 0) {
+            return;
+        }
+
+        long period = now - previous;
+        lastLoopMillis = period / 1e6;
+        loopCount++;
+        loopsAtLevel[level.ordinal()]++;
+
+        if (period > targetNanos) {
+            overrunCount++;
+            consecutiveOverruns++;
+            consecutiveHeadroom = 0;
+        } else {
+            consecutiveOverruns = 0;
+            if (period < targetNanos * headroomFraction) {
+                consecutiveHeadroom++;
+            } else {
+                consecutiveHeadroom = 0;
+            }
+        }
+
+        if (consecutiveOverruns >= overrunsToStepDown && level != Level.VISION_PAUSED) {
+            setLevel(level.down());
+        } else if (consecutiveHeadroom >= headroomLoopsToStepUp && level != Level.FULL) {
+            setLevel(level.up());
+        }
+    }
+
+    private void setLevel(Level next) {
+        Level previous = level;
+        level = next;
+        consecutiveOverruns = 0;
+        consecutiveHeadroom = 0;
+        timesEntered[next.ordinal()]++;
+        RobotLog.ii("LoopWatchdog", "%s -> %s (last loop %.1f ms)", previous, next, lastLoopMillis);
+
+        if (sensorScheduler != null) {
+            sensorScheduler.setRateScale(next.compareTo(Level.REDUCED_SENSOR_RATES) >= 0 ? reducedRateScale : normalRateScale);
+        }
+        if (vision != null) {
+            if (next == Level.VISION_PAUSED && vision.isActive()) {
+                vision.deactivate();
+                pausedVision = true;
+            } else if (next == Level.VISION_PAUSED) {
+                RobotLog.ww("LoopWatchdog", "vision isn't active through VuforiaWrapper.activate(), so there's nothing to pause");
+            } else if (next != Level.VISION_PAUSED && pausedVision) {
+                vision.activate();
+                pausedVision = false;
+            }
+        }
+        for (Listener listener : listeners) {
+            listener.onLevelChanged(previous, next);
+        }
+    }
+
+    /**
+     * Stops the drivetrain if {@link LoopWatchdog#tick()} isn't called for too long, i.e. the loop is stuck
+     * on something. The check runs on its own thread.
+     * @param drivetrain the drivetrain to stop
+     * @param timeoutMillis how long without a tick before stopping, in milliseconds
+     */
+    public synchronized void guardDrivetrain(final Drivetrain drivetrain, final long timeoutMillis) {
+        stopGuard();
+        guarding = true;
+        guard = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                boolean stopped = false;
+                while (guarding) {
+                    long last = lastTick;
+                    boolean stale = last != 0 && System.nanoTime() - last > timeoutMillis * 1000000L;
+                    if (stale && !stopped) {
+                        RobotLog.ww("LoopWatchdog", "no loop for %d ms, stopping the drivetrain", timeoutMillis);
+                        drivetrain.stopMoving();
+                    }
+                    stopped = stale;
+                    try {
+                        Thread.sleep(Math.max(1, timeoutMillis / 4));
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "robotplus-watchdog");
+        guard.setDaemon(true);
+        guard.start();
+    }
+
+    /**
+     * Stops the drivetrain guard thread, if there is one. Call from stop() in the OpMode.
+     */
+    public synchronized void stopGuard() {
+        guarding = false;
+        if (guard != null) {
+            guard.interrupt();
+            guard = null;
+        }
+    }
+
+    /**
+     * @return the current level
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Whether to bother formatting detailed telemetry this loop
+     * @return false once the watchdog has started shedding work
+     */
+    public boolean shouldFormatTelemetry() {
+        return level == Level.FULL;
+    }
+
+    /**
+     * @return the number of loops that went over the target period
+     */
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * @return the number of loops measured
+     */
+    public long getLoopCount() {
+        return loopCount;
+    }
+
+    /**
+     * @return how long the last loop took, in milliseconds
+     */
+    public double getLastLoopMillis() {
+        return lastLoopMillis;
+    }
+
+    /**
+     * @param level a level
+     * @return the number of loops spent at that level
+     */
+    public long getLoopsAtLevel(Level level) {
+        return loopsAtLevel[level.ordinal()];
+    }
+
+    /**
+     * @param level a level
+     * @return the number of times the watchdog has changed to that level
+     */
+    public long getTimesEntered(Level level) {
+        return timesEntered[level.ordinal()];
+    }
+}
@@ -13,7 +13,7 @@ import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
  * @since 8/24/17
  * @author Blake Abel, Alex Migala
  */
-public class MecanumDrive extends Drivetrain {
+public class MecanumDrive extends Drivetrain implements MecanumWheels {
 
     /**
      * Easy access values for use in autonomous controlling the drivetrain.
@@ -52,6 +52,16 @@ public class MecanumDrive extends Drivetrain {
      */
     private MotorPair minorDiagonal;
 
+    /**
+     * all four motors, in the order major1, minor1, minor2, major2, so they can be set in one pass
+     */
+    private MotorGroup wheels;
+
+    /**
+     * scratch space for the wheel powers, so driving doesn't allocate
+     */
+    private final double[] wheelPowers = new double[4];
+
     /**
      * Creates empty Mecanum Drive (only with motor types set to 60)
      */
@@ -66,10 +76,29 @@ public class MecanumDrive extends Drivetrain {
         this.majorDiagonal = majorDiagonal;
         this.minorDiagonal = minorDiagonal;
 
-        minorDiagonal.getMotor1().setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        minorDiagonal.getMotor2().setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        majorDiagonal.getMotor1().setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        majorDiagonal.getMotor2().setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        updateWheels();
+        wheels.setZeroPowerBehaviors(DcMotor.ZeroPowerBehavior.BRAKE);
+    }
+
+    /**
+     * Quick setup for a mecanum drive whose motors are named "left front", "left back", "right front"
+     * and "right back" in the robot configuration, resolved through the robot's HardwareRegistry
+     * @param registry the robot's HardwareRegistry
+     */
+    public MecanumDrive(HardwareRegistry registry){
+        this(registry, "left front", "right back", "right front", "left back");
+    }
+
+    /**
+     * Creates a mecanum drive from the names of its motors, resolved through the robot's HardwareRegistry
+     * @param registry the robot's HardwareRegistry
+     * @param main1 the name of a motor in the top left to bottom right diagonal
+     * @param main2 the name of a motor in the top left to bottom right diagonal
+     * @param minor1 the name of a motor in the top right to bottom left diagonal
+     * @param minor2 the name of a motor in the top right to bottom left diagonal
+     */
+    public MecanumDrive(HardwareRegistry registry, String main1, String main2, String minor1, String minor2){
+        this(new MotorPair(registry, main1, main2), new MotorPair(registry, minor1, minor2));
     }
 
     /**
@@ -83,10 +112,8 @@ public class MecanumDrive extends Drivetrain {
         majorDiagonal = new MotorPair(main1, main2);
         minorDiagonal = new MotorPair(minor1, minor2);
 
-        minorDiagonal.getMotor1().setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        minorDiagonal.getMotor2().setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        majorDiagonal.getMotor1().setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        majorDiagonal.getMotor2().setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        updateWheels();
+        wheels.setZeroPowerBehaviors(DcMotor.ZeroPowerBehavior.BRAKE);
     }
 
     /**
@@ -104,10 +131,10 @@ public class MecanumDrive extends Drivetrain {
         double angleDesired = (!Double.isNaN(Math.atan2(y, x))) ? Math.atan2(y, x) : 0;
         double rotation = -Math.pow(gamepad.right_stick_x, 3); //just makes turning more or less sensitive
 
-        majorDiagonal.getMotor1().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation);
-        minorDiagonal.getMotor1().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation); //flipped from original equation
-        minorDiagonal.getMotor2().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation); //flipped from original equation
-        majorDiagonal.getMotor2().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
+        setMotorPowers(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation,
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation, //flipped from original equation
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation, //flipped from original equation
+                velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
 
         telemetry.addData("Mecanum Data", "Angle: %.3f, Velocity: %.3f", angleDesired, velocityDesired);
         telemetry.addData("Drivetrain Power", "M1: %.2f, m1: %.2f, m2: %.2f, M2: %.2f",
@@ -130,10 +157,10 @@ public class MecanumDrive extends Drivetrain {
         double angleDesired = (!Double.isNaN(Math.atan2(y, x))) ? Math.atan2(y, x) : 0;
         double rotation = -Math.pow(gamepad.right_stick_x, 3); //just makes turning more or less sensitive
 
-        majorDiagonal.getMotor1().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation);
-        minorDiagonal.getMotor1().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation); //flipped from original equation
-        minorDiagonal.getMotor2().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation); //flipped from original equation
-        majorDiagonal.getMotor2().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
+        setMotorPowers(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation,
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation, //flipped from original equation
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation, //flipped from original equation
+                velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
 
         telemetry.addData("Mecanum Data", "Angle: %.3f, Velocity: %.3f", angleDesired, velocityDesired);
         telemetry.addData("Drivetrain Power", "M1: %.2f, m1: %.2f, m2: %.2f, M2: %.2f",
@@ -149,10 +176,10 @@ public class MecanumDrive extends Drivetrain {
      * @param rotationSpeed How fast you want it to rotate. Note: that's not general, setting this will make it rotate.
      */
     public void complexDrive(double angleDesired, double velocityDesired, double rotationSpeed){
-        majorDiagonal.getMotor1().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotationSpeed);
-        minorDiagonal.getMotor1().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotationSpeed); //flipped from original equation
-        minorDiagonal.getMotor2().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotationSpeed); //flipped from original equation
-        majorDiagonal.getMotor2().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotationSpeed);
+        setMotorPowers(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotationSpeed,
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotationSpeed, //flipped from original equation
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotationSpeed, //flipped from original equation
+                velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotationSpeed);
     }
 
     public void complexDrive(double leftx, double lefty, double rightx, Telemetry telemetry){
@@ -160,10 +187,10 @@ public class MecanumDrive extends Drivetrain {
         double angleDesired = (!Double.isNaN(Math.atan2(lefty, leftx))) ? Math.atan2(lefty, leftx) : 0;
         double rotation = Math.pow(rightx, 3); //just makes turning more or less sensitive
 
-        majorDiagonal.getMotor1().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation);
-        minorDiagonal.getMotor1().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation); //flipped from original equation
-        minorDiagonal.getMotor2().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation); //flipped from original equation
-        majorDiagonal.getMotor2().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
+        setMotorPowers(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation,
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation, //flipped from original equation
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation, //flipped from original equation
+                velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
 
         telemetry.addData("Mecanum Data", "Angle: %.3f, Velocity: %.3f", angleDesired, velocityDesired);
         telemetry.addData("Drivetrain Power", "M1: %.2f, m1: %.2f, m2: %.2f, M2: %.2f",
@@ -190,10 +217,10 @@ public class MecanumDrive extends Drivetrain {
         double angleDesired = (!Double.isNaN(Math.atan2(y, x))) ? (Math.atan2(y, x) - heading): 0;
         double rotation = Math.pow(gamepad.right_stick_x, 3); //just makes turning more or less sensitive
 
-        majorDiagonal.getMotor1().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation);
-        minorDiagonal.getMotor1().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation); //flipped from original equation
-        minorDiagonal.getMotor2().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation); //flipped from original equation
-        majorDiagonal.getMotor2().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
+        setMotorPowers(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation,
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation, //flipped from original equation
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation, //flipped from original equation
+                velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
 
         telemetry.addData("Mecanum Data", "Angle: %.3f, Velocity: %.3f", angleDesired, velocityDesired);
         telemetry.addData("Drivetrain Power", "M1: %.2f, m1: %.2f, m2: %.2f, M2: %.2f",
@@ -221,10 +248,10 @@ public class MecanumDrive extends Drivetrain {
         double angleDesired = (!Double.isNaN(Math.atan2(y, x))) ? (Math.atan2(y, x) - heading): 0;
         double rotation = Math.pow(gamepad.right_stick_x, 3); //just makes turning more or less sensitive
 
-        majorDiagonal.getMotor1().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation);
-        minorDiagonal.getMotor1().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation); //flipped from original equation
-        minorDiagonal.getMotor2().setPower(velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation); //flipped from original equation
-        majorDiagonal.getMotor2().setPower(velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
+        setMotorPowers(velocityDesired * Math.sin(angleDesired + Math.PI/4) + rotation,
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) + rotation, //flipped from original equation
+                velocityDesired * Math.cos(angleDesired + Math.PI/4) - rotation, //flipped from original equation
+                velocityDesired * Math.sin(angleDesired + Math.PI/4) - rotation);
 
         telemetry.addData("Mecanum Data", "Angle: %.3f, Velocity: %.3f", angleDesired, velocityDesired);
         telemetry.addData("Drivetrain Power", "M1: %.2f, m1: %.2f, m2: %.2f, M2: %.2f",
@@ -268,6 +295,66 @@ public class MecanumDrive extends Drivetrain {
     }
 
 
+    /**
+     * Turns on software velocity control for all four motors
+     * @param gains the controller whose gains to use for every motor
+     * @see MotorPair#enableVelocityControl(VelocityController)
+     */
+    public void enableVelocityControl(VelocityController gains){
+        majorDiagonal.enableVelocityControl(gains);
+        minorDiagonal.enableVelocityControl(gains);
+    }
+
+    /**
+     * The closed-loop version of {@link MecanumDrive#complexDrive(double, double, double)}: drives the wheels
+     * at velocities instead of powers. Call this every loop while velocity control is on.
+     * @param angleDesired The angle direction you want the robot to move, from 0 to 2*pi (think unit circle).
+     * @param velocityDesired The wheel speed to travel at, in encoder ticks per second.
+     * @param rotationSpeed The wheel speed to add for rotation, in encoder ticks per second.
+     */
+    public void velocityDrive(double angleDesired, double velocityDesired, double rotationSpeed){
+        double major = velocityDesired * Math.sin(angleDesired + Math.PI/4);
+        double minor = velocityDesired * Math.cos(angleDesired + Math.PI/4); //flipped from original equation
+        majorDiagonal.setVelocities(major + rotationSpeed, major - rotationSpeed, 0, 0);
+        minorDiagonal.setVelocities(minor + rotationSpeed, minor - rotationSpeed, 0, 0);
+    }
+
+    /**
+     * Sets the power of each wheel directly, i.e. from a trajectory follower that does its own kinematics.
+     * Voltage compensation still applies if it is turned on.
+     * @param major1 power for the first motor in the major diagonal
+     * @param minor1 power for the first motor in the minor diagonal
+     * @param minor2 power for the second motor in the minor diagonal
+     * @param major2 power for the second motor in the major diagonal
+     */
+    @Override
+    public void setWheelPowers(double major1, double minor1, double minor2, double major2){
+        setMotorPowers(major1, minor1, minor2, major2);
+    }
+
+    /**
+     * Sets the power of each wheel, applying voltage compensation if it is turned on.
+     * @param major1 power for the first motor in the major diagonal
+     * @param minor1 power for the first motor in the minor diagonal
+     * @param minor2 power for the second motor in the minor diagonal
+     * @param major2 power for the second motor in the major diagonal
+     */
+    private void setMotorPowers(double major1, double minor1, double minor2, double major2){
+        wheelPowers[0] = major1;
+        wheelPowers[1] = minor1;
+        wheelPowers[2] = minor2;
+        wheelPowers[3] = major2;
+        compensate(wheelPowers, getVoltageScale());
+        wheels.setPowers(wheelPowers);
+    }
+
+    private void updateWheels(){
+        if (majorDiagonal != null && minorDiagonal != null) {
+            wheels = new MotorGroup(majorDiagonal.getMotor1(), minorDiagonal.getMotor1(),
+                    minorDiagonal.getMotor2(), majorDiagonal.getMotor2());
+        }
+    }
+
     @Override
     public void defaultDrive(Gamepad gamepad, Telemetry telemetry){
         complexDrive(gamepad, telemetry);
@@ -275,14 +362,12 @@ public class MecanumDrive extends Drivetrain {
 
     @Override
     public void setPower(double power) {
-        majorDiagonal.setPowers(power);
-        minorDiagonal.setPowers(power);
+        wheels.setPower(compensate(power, getVoltageScale()));
     }
 
     @Override
     public void setModes(DcMotor.RunMode runMode) {
-        majorDiagonal.setModes(runMode);
-        minorDiagonal.setModes(runMode);
+        wheels.setModes(runMode);
     }
 
     @Override
@@ -293,8 +378,10 @@ public class MecanumDrive extends Drivetrain {
 
     @Override
     public void stopMoving() {
-        majorDiagonal.setPowers(0);
-        minorDiagonal.setPowers(0);
+        wheels.stopMoving();
+        // The wheels were stopped through the group, so the pairs' velocity samples are stale
+        majorDiagonal.forgetSamples();
+        minorDiagonal.forgetSamples();
     }
 
     /**
@@ -313,12 +400,21 @@ public class MecanumDrive extends Drivetrain {
         return minorDiagonal;
     }
 
+    /**
+     * Return all four motors as one group, in the order major1, minor1, minor2, major2
+     * @return {@link MecanumDrive#wheels}
+     */
+    public MotorGroup getWheels() {
+        return wheels;
+    }
+
     /**
      * Sets the MotorPair corresponding to the motors going top left to bottom right
      * @param majorDiagonal {@link MecanumDrive#majorDiagonal}
      */
     public void setmajorDiagonal(MotorPair majorDiagonal) {
         this.majorDiagonal = majorDiagonal;
+        updateWheels();
     }
 
     /**
@@ -327,6 +423,7 @@ public class MecanumDrive extends Drivetrain {
      */
     public void setMinorDiagonal(MotorPair minorDiagonal) {
         this.minorDiagonal = minorDiagonal;
+        updateWheels();
     }
 
     /**
@@ -335,9 +432,6 @@ public class MecanumDrive extends Drivetrain {
      * @TODO: change how this works if necessary b/c they don't go the same direction.
      */
     public void setTargetPosition(int position) {
-        majorDiagonal.getMotor1().setTargetPosition(position);
-        majorDiagonal.getMotor2().setTargetPosition(position);
-        minorDiagonal.getMotor1().setTargetPosition(position);
-        minorDiagonal.getMotor2().setTargetPosition(position);
+        wheels.setTargetPositions(position);
     }
 }
@@ -0,0 +1,24 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+/**
+ * Anything whose four mecanum wheels can be set directly: a {@link MecanumDrive} on the robot, or a
+ * {@link org.firstinspires.ftc.micdsrobotics.robotplus.simulation.SimulatedRobot} off it. Followers
+ * that do their own kinematics drive through this, so the same code runs in both.
+ * @since 10/19/26
+ */
+public interface MecanumWheels {
+
+    /**
+     * Sets the power of each wheel
+     * @param major1 power for the first motor in the major diagonal
+     * @param minor1 power for the first motor in the minor diagonal
+     * @param minor2 power for the second motor in the minor diagonal
+     * @param major2 power for the second motor in the major diagonal
+     */
+    void setWheelPowers(double major1, double minor1, double minor2, double major2);
+
+    /**
+     * Stops every wheel
+     */
+    void stopMoving();
+}
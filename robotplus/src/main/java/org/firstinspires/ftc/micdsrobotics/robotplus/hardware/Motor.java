@@ -8,22 +8,32 @@ package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
  * @author Blake Abel, Alex Migala
  */
 public enum Motor {
-    NEVERREST20 (20, 7),
-    NEVERREST40 (40, 7),
-    NEVERREST60 (60, 7),
-    CORE_HEX (72, 4);
+    NEVERREST20 (20, 28, 340, 1.24, 11.5),
+    NEVERREST40 (40, 28, 160, 2.47, 11.5),
+    NEVERREST60 (60, 28, 105, 4.19, 11.5),
+    CORE_HEX (72, 4, 125, 3.2, 4.4);
 
     private final double countsPerRevolution;
     private final double gearBoxRatio;
+    private final double freeSpeed;
+    private final double stallTorque;
+    private final double stallCurrent;
 
     /**
      * Creates a new motor
      * @param gearBoxRatio The gearbox ratio of the motor
-     * @param pulsesPerRevolution The amount of encoder pulses emitted per revolution
+     * @param pulsesPerRevolution The amount of encoder counts per revolution of the motor itself, before the
+     *                            gearbox (i.e. 28 for a NeveRest: 7 pulses on each of the encoder's two channels, rising and falling)
+     * @param freeSpeed The speed of the output shaft with no load, in RPM, from the manufacturer website
+     * @param stallTorque The torque of the output shaft when stalled at 12V, in N*m
+     * @param stallCurrent The current drawn when stalled at 12V, in amps
      */
-    Motor(int gearBoxRatio, int pulsesPerRevolution){
+    Motor(int gearBoxRatio, int pulsesPerRevolution, double freeSpeed, double stallTorque, double stallCurrent){
         this.countsPerRevolution = pulsesPerRevolution * gearBoxRatio;
         this.gearBoxRatio = gearBoxRatio;
+        this.freeSpeed = freeSpeed;
+        this.stallTorque = stallTorque;
+        this.stallCurrent = stallCurrent;
     }
 
     /**
@@ -39,4 +49,32 @@ public enum Motor {
     public double getGearBoxRatio() {
         return gearBoxRatio;
     }
+
+    /**
+     * @return The free speed of the output shaft, in RPM
+     */
+    public double getFreeSpeed() {
+        return freeSpeed;
+    }
+
+    /**
+     * @return The free speed of the output shaft, in encoder ticks per second
+     */
+    public double getMaxTicksPerSecond() {
+        return freeSpeed / 60 * countsPerRevolution;
+    }
+
+    /**
+     * @return The torque of the output shaft when stalled at 12V, in N*m
+     */
+    public double getStallTorque() {
+        return stallTorque;
+    }
+
+    /**
+     * @return The current drawn when stalled at 12V, in amps
+     */
+    public double getStallCurrent() {
+        return stallCurrent;
+    }
 }
@@ -0,0 +1,293 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+/**
+ * Any number of motors (or continuous rotation servos) treated as one, like {@link MotorPair}
+ * but not limited to two. A whole vector of powers is applied in one pass: every power is
+ * inverted, scaled and clipped first, and only then written out back to back, so the motors
+ * are set as close together in time as the SDK allows.
+ * @since 10/19/26
+ */
+public class MotorGroup {
+
+    /**
+     * the motors in the group
+     */
+    private final DcMotorSimple[] motors;
+
+    /**
+     * what each motor's power is multiplied by; negative to invert it
+     */
+    private final double[] scales;
+
+    /**
+     * the powers about to be written, so setPowers doesn't allocate
+     */
+    private final double[] pending;
+
+    /**
+     * the powers last written to each motor
+     */
+    private final double[] written;
+
+    /**
+     * whether writes of the power a motor already has are skipped
+     */
+    private boolean skipUnchangedWrites;
+
+    /**
+     * Creates a group out of motors
+     * @param motors the motors, in the order powers will be given in
+     */
+    public MotorGroup(DcMotorSimple... motors) {
+        this.motors = motors.clone();
+        this.scales = new double[motors.length];
+        this.pending = new double[motors.length];
+        this.written = new double[motors.length];
+        for (int i = 0; i < motors.length; i++) {
+            scales[i] = 1;
+            written[i] = Double.NaN;
+        }
+    }
+
+    /**
+     * Creates a group out of motors from the robot configuration
+     * @param registry the robot's HardwareRegistry
+     * @param names the names of the motors, in the order powers will be given in
+     * @return the group
+     */
+    public static MotorGroup of(HardwareRegistry registry, String... names) {
+        return new MotorGroup(resolve(registry, names));
+    }
+
+    /**
+     * Creates a group out of MotorPairs, motor1 then motor2 of each pair
+     * @param pairs the pairs to combine
+     * @return the group
+     */
+    public static MotorGroup of(MotorPair... pairs) {
+        return new MotorGroup(flatten(pairs));
+    }
+
+    private static DcMotorSimple[] resolve(HardwareRegistry registry, String[] names) {
+        DcMotorSimple[] motors = new DcMotorSimple[names.length];
+        for (int i = 0; i < names.length; i++) {
+            motors[i] = registry.getMotor(names[i]);
+        }
+        return motors;
+    }
+
+    private static DcMotorSimple[] flatten(MotorPair[] pairs) {
+        DcMotorSimple[] motors = new DcMotorSimple[pairs.length * 2];
+        for (int i = 0; i < pairs.length; i++) {
+            motors[2 * i] = pairs[i].getMotor1();
+            motors[2 * i + 1] = pairs[i].getMotor2();
+        }
+        return motors;
+    }
+
+    /**
+     * Sets the power of every motor in one pass.
+     * @param powers one power per motor, in the group's order (from -1 to 1)
+     */
+    public void setPowers(double[] powers) {
+        if (powers.length != motors.length) {
+            throw new IllegalArgumentException("expected " + motors.length + " powers, got " + powers.length);
+        }
+        for (int i = 0; i < motors.length; i++) {
+            pending[i] = MotorPair.clamp(powers[i] * scales[i], -1, 1);
+        }
+        flush();
+    }
+
+    /**
+     * Sets every motor to the same power (before each motor's inversion and scaling)
+     * @param power the power to set the motors to
+     */
+    public void setPower(double power) {
+        for (int i = 0; i < motors.length; i++) {
+            pending[i] = MotorPair.clamp(power * scales[i], -1, 1);
+        }
+        flush();
+    }
+
+    private void flush() {
+        for (int i = 0; i < motors.length; i++) {
+            if (!skipUnchangedWrites || pending[i] != written[i]) {
+                motors[i].setPower(pending[i]);
+                written[i] = pending[i];
+            }
+        }
+    }
+
+    /**
+     * Stops the motors (sets their power to 0)
+     */
+    public void stopMoving() {
+        setPower(0);
+    }
+
+    /**
+     * Inverts (or un-inverts) one motor, on top of its scale
+     * @param index the motor's position in the group
+     * @param inverted whether the motor's powers should be negated
+     */
+    public void setInverted(int index, boolean inverted) {
+        scales[index] = inverted ? -Math.abs(scales[index]) : Math.abs(scales[index]);
+    }
+
+    /**
+     * Sets what one motor's power is multiplied by, i.e. to even out a motor that runs faster than the others
+     * @param index the motor's position in the group
+     * @param scale the multiplier; negative to also invert the motor
+     */
+    public void setScale(int index, double scale) {
+        scales[index] = scale;
+    }
+
+    /**
+     * Gets what one motor's power is multiplied by
+     * @param index the motor's position in the group
+     * @return the multiplier; negative if the motor is inverted
+     */
+    public double getScale(int index) {
+        return scales[index];
+    }
+
+    /**
+     * Skips writing a power to a motor that already has it, which saves a bus transaction per motor on a
+     * steady command. Only turn this on if nothing else sets these motors' powers directly.
+     * @param skipUnchangedWrites whether to skip unchanged writes
+     */
+    public void setSkipUnchangedWrites(boolean skipUnchangedWrites) {
+        this.skipUnchangedWrites = skipUnchangedWrites;
+        invalidate();
+    }
+
+    /**
+     * Forgets the powers last written, so the next setPowers writes every motor
+     */
+    public void invalidate() {
+        for (int i = 0; i < written.length; i++) {
+            written[i] = Double.NaN;
+        }
+    }
+
+    /**
+     * Sets the directions of every motor in the group
+     * @param direction The direction to set the motors to
+     */
+    public void setDirections(DcMotorSimple.Direction direction) {
+        for (DcMotorSimple motor : motors) {
+            motor.setDirection(direction);
+        }
+    }
+
+    /**
+     * Sets the modes (RunModes) of every DcMotor in the group; servos are left alone
+     * @param runMode the mode to set the motors to
+     */
+    public void setModes(DcMotor.RunMode runMode) {
+        for (DcMotorSimple motor : motors) {
+            if (motor instanceof DcMotor) {
+                ((DcMotor) motor).setMode(runMode);
+            }
+        }
+    }
+
+    /**
+     * Sets the zero power behavior of every DcMotor in the group; servos are left alone
+     * @param behavior what the motors do at zero power
+     */
+    public void setZeroPowerBehaviors(DcMotor.ZeroPowerBehavior behavior) {
+        for (DcMotorSimple motor : motors) {
+            if (motor instanceof DcMotor) {
+                ((DcMotor) motor).setZeroPowerBehavior(behavior);
+            }
+        }
+    }
+
+    /**
+     * Sets the target position of every DcMotor in the group; servos are left alone
+     * @param position the requested target encoder position
+     */
+    public void setTargetPositions(int position) {
+        setTargetPositions(0, motors.length, position);
+    }
+
+    /**
+     * Sets the target position of the DcMotors in part of the group, i.e. one side of a drivetrain;
+     * servos are left alone
+     * @param from the position in the group of the first motor to set
+     * @param to the position in the group after the last motor to set
+     * @param position the requested target encoder position
+     */
+    public void setTargetPositions(int from, int to, int position) {
+        if (from < 0 || to > motors.length || from > to) {
+            throw new IndexOutOfBoundsException("range " + from + " to " + to + " in a group of " + motors.length);
+        }
+        for (int i = from; i < to; i++) {
+            if (motors[i] instanceof DcMotor) {
+                ((DcMotor) motors[i]).setTargetPosition(position);
+            }
+        }
+    }
+
+    /**
+     * Resets the encoder values for every DcMotor in the group, and sets them to the given mode after
+     * @param runMode the mode to put the motors in once the encoders are reset
+     */
+    public void resetEncoders(DcMotor.RunMode runMode) {
+        setModes(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        setModes(runMode);
+    }
+
+    /**
+     * Gets the average power the motors are actually set to (read back from the motors)
+     * @return the average power
+     */
+    public double getAveragePower() {
+        double sum = 0;
+        for (DcMotorSimple motor : motors) {
+            sum += motor.getPower();
+        }
+        return motors.length == 0 ? 0 : sum / motors.length;
+    }
+
+    /**
+     * Reads every motor's encoder into an array. Servos read as 0.
+     * @param positions the array to fill, at least {@link MotorGroup#size()} long
+     */
+    public void getCurrentPositions(int[] positions) {
+        for (int i = 0; i < motors.length; i++) {
+            positions[i] = motors[i] instanceof DcMotor ? ((DcMotor) motors[i]).getCurrentPosition() : 0;
+        }
+    }
+
+    /**
+     * @return the number of motors in the group
+     */
+    public int size() {
+        return motors.length;
+    }
+
+    /**
+     * Gets a motor out of the group
+     * @param index the motor's position in the group
+     * @return the motor
+     */
+    public DcMotorSimple getMotor(int index) {
+        return motors[index];
+    }
+
+    /**
+     * Gets the power last written to a motor by the group
+     * @param index the motor's position in the group
+     * @return the power, after inversion and scaling, or NaN if the group hasn't set it yet
+     */
+    public double getWrittenPower(int index) {
+        return written[index];
+    }
+}
@@ -22,6 +22,26 @@ public class MotorPair {
      */
     private DcMotor motor2;
 
+    /**
+     * velocity controllers for motor1 and motor2, or null if velocity control is off
+     * @see MotorPair#enableVelocityControl(VelocityController)
+     */
+    private VelocityController controller1;
+    private VelocityController controller2;
+
+    /**
+     * velocity estimators for motor1 and motor2
+     * @see MotorPair#setVelocityEstimator(VelocityEstimator)
+     */
+    private VelocityEstimator estimator1 = new VelocityEstimator();
+    private VelocityEstimator estimator2 = new VelocityEstimator();
+
+    /**
+     * time (in nanoseconds) of the last velocity update
+     */
+    private long lastSampleTime;
+    private boolean hasSample;
+
     /**
      * Empty MotorPair constructor
      */
@@ -51,6 +71,17 @@ public class MotorPair {
         motor2 = hardwareMap.dcMotor.get(hardwareName2);
     }
 
+    /**
+     * MotorPair constructor, getting the linked motors from a HardwareRegistry so they are only looked up once
+     * @param registry the robot's HardwareRegistry
+     * @param hardwareName1 the name of one of the motors to be linked from the robot configuration
+     * @param hardwareName2 the name of another motor to be linked from the robot configuration
+     */
+    public MotorPair(HardwareRegistry registry, String hardwareName1, String hardwareName2){
+        motor1 = registry.getMotor(hardwareName1);
+        motor2 = registry.getMotor(hardwareName2);
+    }
+
     /**
      * Sets the powers of both of the motors
      * @param power the power to set the motors to
@@ -66,6 +97,15 @@ public class MotorPair {
     public void stopMoving(){
         motor1.setPower(0);
         motor2.setPower(0);
+        forgetSamples();
+    }
+
+    /**
+     * Drops the last encoder sample, so the next velocity update starts over instead of measuring
+     * across a stop or a reset. Drivetrains call this when they stop the pair's motors themselves.
+     */
+    void forgetSamples() {
+        hasSample = false;
     }
 
     /**
@@ -116,12 +156,141 @@ public class MotorPair {
      * Resets the encoder values for both motors in the pair, and sets them to RUN_TO_POSITION after
      */
     public void resetEncoders(){
+        resetEncoders(DcMotor.RunMode.RUN_TO_POSITION);
+    }
+
+    /**
+     * Resets the encoder values for both motors in the pair, and sets them to the given mode after
+     * @param runMode the mode to put the motors in once the encoders are reset
+     */
+    public void resetEncoders(DcMotor.RunMode runMode){
         motor1.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
         motor2.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
-        motor1.setMode(DcMotor.RunMode.RUN_TO_POSITION);
-        motor2.setMode(DcMotor.RunMode.RUN_TO_POSITION);
+        motor1.setMode(runMode);
+        motor2.setMode(runMode);
+        hasSample = false;
+    }
+
+    /**
+     * Turns on software velocity control. Each motor gets its own copy of the controller, and the motors
+     * are put in RUN_WITHOUT_ENCODER so the hub's own controller doesn't fight it (the encoders still count).
+     * @param gains the controller whose gains to use
+     * @see MotorPair#setVelocities(double, double)
+     */
+    public void enableVelocityControl(VelocityController gains){
+        controller1 = new VelocityController(gains);
+        controller2 = new VelocityController(gains);
+        setModes(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+        hasSample = false;
+    }
+
+    /**
+     * Turns off software velocity control; setVelocities can't be used until it's enabled again
+     */
+    public void disableVelocityControl(){
+        controller1 = null;
+        controller2 = null;
+    }
+
+    /**
+     * @return whether software velocity control is on
+     */
+    public boolean isVelocityControlled(){
+        return controller1 != null;
+    }
+
+    /**
+     * Drives both motors at a velocity. Call this every loop, since the velocity is estimated from the
+     * encoder positions read on each call.
+     * @param ticksPerSecond the velocity to hold, in encoder ticks per second
+     */
+    public void setVelocities(double ticksPerSecond){
+        setVelocities(ticksPerSecond, 0);
+    }
+
+    /**
+     * Drives both motors at a velocity. Call this every loop, since the velocity is estimated from the
+     * encoder positions read on each call.
+     * @param ticksPerSecond the velocity to hold, in encoder ticks per second
+     * @param ticksPerSecondSquared the acceleration being asked for, for the kA feedforward
+     */
+    public void setVelocities(double ticksPerSecond, double ticksPerSecondSquared){
+        setVelocities(ticksPerSecond, ticksPerSecond, ticksPerSecondSquared, ticksPerSecondSquared);
+    }
+
+    /**
+     * Drives each motor at its own velocity. Call this every loop, since the velocity is estimated from the
+     * encoder positions read on each call.
+     * @param front the velocity for the front motor (motor1), in encoder ticks per second
+     * @param back the velocity for the back motor (motor2), in encoder ticks per second
+     * @param frontAcceleration the acceleration being asked of the front motor, in ticks per second squared
+     * @param backAcceleration the acceleration being asked of the back motor, in ticks per second squared
+     */
+    public void setVelocities(double front, double back, double frontAcceleration, double backAcceleration){
+        if (controller1 == null) {
+            throw new IllegalStateException("velocity control hasn't been enabled");
+        }
+
+        if (!hasSample) {
+            controller1.reset();
+            controller2.reset();
+        }
+        double dt = updateVelocities();
+
+        motor1.setPower(controller1.update(front, frontAcceleration, estimator1.getVelocity(), dt));
+        motor2.setPower(controller2.update(back, backAcceleration, estimator2.getVelocity(), dt));
     }
 
+    /**
+     * Reads both encoders and updates the velocity estimates. setVelocities already does this, so only
+     * call it yourself when velocity control is off and you still want velocities, i.e. for odometry.
+     * @return the time since the last update, in seconds, or 0 for the first update
+     */
+    public double updateVelocities(){
+        long now = System.nanoTime();
+        if (!hasSample) {
+            estimator1.reset();
+            estimator2.reset();
+        }
+        estimator1.update(now, motor1.getCurrentPosition());
+        estimator2.update(now, motor2.getCurrentPosition());
+        double dt = hasSample ? (now - lastSampleTime) * 1e-9 : 0;
+        lastSampleTime = now;
+        hasSample = true;
+        return dt;
+    }
+
+    /**
+     * Changes how velocity is estimated from the encoders. Each motor gets its own copy of the estimator.
+     * @param settings the estimator whose settings to use
+     */
+    public void setVelocityEstimator(VelocityEstimator settings){
+        estimator1 = new VelocityEstimator(settings);
+        estimator2 = new VelocityEstimator(settings);
+        hasSample = false;
+    }
+
+    /**
+     * Gets the front motor (motor1)'s velocity from the last velocity update
+     * @return the velocity in ticks per second
+     */
+    public double getFrontVelocity() { return estimator1.getVelocity(); }
+    /**
+     * Gets the back motor (motor2)'s velocity from the last velocity update
+     * @return the velocity in ticks per second
+     */
+    public double getBackVelocity() { return estimator2.getVelocity(); }
+    /**
+     * Gets the front motor (motor1)'s acceleration from the last velocity update
+     * @return the acceleration in ticks per second squared
+     */
+    public double getFrontAcceleration() { return estimator1.getAcceleration(); }
+    /**
+     * Gets the back motor (motor2)'s acceleration from the last velocity update
+     * @return the acceleration in ticks per second squared
+     */
+    public double getBackAcceleration() { return estimator2.getAcceleration(); }
+
     /**
      * Returns {@link MotorPair#motor1}
      * @return {@link MotorPair#motor1}
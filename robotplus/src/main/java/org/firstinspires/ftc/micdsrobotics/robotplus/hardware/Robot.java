@@ -16,12 +16,60 @@ public abstract class Robot<D extends Drivetrain> implements VoltageDistanceAdap
      */
     private D drivetrain;
 
+    /**
+     * the registry devices are resolved through, created by {@link Robot#getHardware(HardwareMap)}
+     */
+    private HardwareRegistry hardware;
+
     /**
      * Initializes drivetrain and other necessary hardware (i.e. IMU, color sensor).
+     * Pass the registry from {@link Robot#getHardware(HardwareMap)} to the drivetrain and wrappers
+     * (TankDrive, MecanumDrive, IMUWrapper, ColorSensorWrapper, VuforiaWrapper) so every device is
+     * only looked up once. Slow devices can be started in the background with {@link HardwareRegistry#initAsync}:
+     * <pre>
+     * final HardwareRegistry hardware = getHardware(hardwareMap);
+     * imu = hardware.initAsync("imu", new Callable&lt;IMUWrapper&gt;() {
+     *     public IMUWrapper call() { return new IMUWrapper(hardware); }
+     * });
+     * setDrivetrain(new MecanumDrive(hardware));
+     * </pre>
      * @param hardwareMap the hardware map containing configured devices
      */
     public abstract void initHardware(HardwareMap hardwareMap);
 
+    /**
+     * Returns the registry for the given HardwareMap, making a new one if the map has changed
+     * (i.e. a new OpMode has started).
+     * @param hardwareMap the hardware map containing configured devices
+     * @return {@link Robot#hardware}
+     */
+    protected HardwareRegistry getHardware(HardwareMap hardwareMap) {
+        if (hardware == null || hardware.getHardwareMap() != hardwareMap) {
+            if (hardware != null) {
+                hardware.shutdown();
+            }
+            hardware = new HardwareRegistry(hardwareMap);
+        }
+        return hardware;
+    }
+
+    /**
+     * Waits for anything still initializing in the background to finish.
+     * @param timeoutMillis the longest to wait, in milliseconds
+     * @return true if all hardware finished initializing in time
+     */
+    public boolean awaitHardware(long timeoutMillis) {
+        return hardware == null || hardware.awaitAll(timeoutMillis);
+    }
+
+    /**
+     * Gets how long each device took to initialize, for telemetry.
+     * @return the init timing report, or an empty string if the registry was never used
+     */
+    public String getInitReport() {
+        return hardware == null ? "" : hardware.getInitReport();
+    }
+
     /**
      * Stops the robot completely.
      */
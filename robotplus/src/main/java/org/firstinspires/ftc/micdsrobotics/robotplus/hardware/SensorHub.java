@@ -0,0 +1,372 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Reads sensors that sit on different buses (i.e. different expansion hubs) at the same time,
+ * instead of one after another. Devices are registered under the name of their bus; each bus
+ * other than the first gets its own worker thread, and {@link SensorHub#poll()} starts all of
+ * them, reads the first bus itself, and waits for the rest. A loop's sensor time is then the
+ * slowest bus instead of the sum of all of them.
+ * <p>
+ * Devices on the same hub are kept on the same bus, since the hub only handles one
+ * transaction at a time anyway. Every value ends up in one {@link SensorSnapshot} per poll.
+ * @since 10/19/26
+ */
+public class SensorHub {
+
+    /**
+     * Reads one device into the snapshot
+     */
+    public interface Reader {
+        /**
+         * Reads the device
+         * @param values where to write the readings
+         * @param offset the index of the first value this device owns
+         */
+        void read(double[] values, int offset);
+    }
+
+    /**
+     * The values from one poll of every device
+     */
+    public static class SensorSnapshot {
+        /**
+         * when the poll started, from System.nanoTime()
+         */
+        public long timestamp;
+
+        /**
+         * when each bus finished reading, from System.nanoTime(), in the order buses were first registered
+         */
+        public long[] busTimestamps;
+
+        /**
+         * which poll this is, counting from 1
+         */
+        public long sequence;
+
+        /**
+         * every device's values, at the offsets returned when they were registered
+         */
+        public double[] values;
+
+        /**
+         * Copies another snapshot into this one, reusing this one's arrays when they're big enough
+         * @param other the snapshot to copy
+         */
+        public void copyFrom(SensorSnapshot other) {
+            timestamp = other.timestamp;
+            sequence = other.sequence;
+            if (values == null || values.length != other.values.length) {
+                values = new double[other.values.length];
+            }
+            if (busTimestamps == null || busTimestamps.length != other.busTimestamps.length) {
+                busTimestamps = new long[other.busTimestamps.length];
+            }
+            System.arraycopy(other.values, 0, values, 0, values.length);
+            System.arraycopy(other.busTimestamps, 0, busTimestamps, 0, busTimestamps.length);
+        }
+    }
+
+    private static class Device {
+        final String name;
+        final int offset;
+        final int width;
+        final Reader reader;
+
+        Device(String name, int offset, int width, Reader reader) {
+            this.name = name;
+            this.offset = offset;
+            this.width = width;
+            this.reader = reader;
+        }
+    }
+
+    private class Bus {
+        final String name;
+        final int index;
+        final List<Device> devices = new ArrayList<>();
+
+        Bus(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        void readAll() {
+            for (int i = 0; i < devices.size(); i++) {
+                Device device = devices.get(i);
+                try {
+                    device.reader.read(snapshot.values, device.offset);
+                } catch (RuntimeException e) {
+                    RobotLog.ee("SensorHub", e, "reading %s on %s failed", device.name, name);
+                    Arrays.fill(snapshot.values, device.offset, device.offset + device.width, Double.NaN);
+                }
+            }
+            snapshot.busTimestamps[index] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Reads one bus whenever it's told to, until the hub is shut down or started again. Each start
+     * makes new workers with their own semaphores, so a worker left over from before can't take a
+     * permit meant for a new one, or give back one the new poll didn't ask for.
+     */
+    private class Worker implements Runnable {
+        final Bus bus;
+        final int generation;
+        final Semaphore go;
+        final Semaphore done;
+
+        Worker(Bus bus, int generation, Semaphore go, Semaphore done) {
+            this.bus = bus;
+            this.generation = generation;
+            this.go = go;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                go.acquireUninterruptibly();
+                if (generation != SensorHub.this.generation) {
+                    break;
+                }
+                try {
+                    bus.readAll();
+                } finally {
+                    done.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * how long {@link SensorHub#shutdown()} waits for each worker to finish its read
+     */
+    private static final long JOIN_MILLIS = 100;
+
+    private final List<Bus> buses = new ArrayList<>();
+    private final SensorSnapshot snapshot = new SensorSnapshot();
+    private int width;
+    private volatile boolean running;
+    private boolean shutDown;
+
+    /**
+     * counts starts and shutdowns; a worker exits as soon as it sees this isn't the one it was started with
+     */
+    private volatile int generation;
+
+    /**
+     * the semaphore each worker waits on, by bus (the first bus has no worker, so its entry is null)
+     */
+    private Semaphore[] go;
+    private Semaphore done;
+    private Thread[] workers;
+
+    /**
+     * Registers a device
+     * @param bus the name of the bus (or hub) the device is on
+     * @param name the device's name, for logging
+     * @param width how many values the device reads
+     * @param reader reads the device
+     * @return the offset of the device's first value in {@link SensorSnapshot#values}
+     */
+    public synchronized int register(String bus, String name, int width, Reader reader) {
+        if (running) {
+            throw new IllegalStateException("can't register devices while the hub is running");
+        }
+        Bus target = null;
+        for (Bus b : buses) {
+            if (b.name.equals(bus)) {
+                target = b;
+            }
+        }
+        if (target == null) {
+            target = new Bus(bus, buses.size());
+            buses.add(target);
+        }
+        int offset = this.width;
+        target.devices.add(new Device(name, offset, width, reader));
+        this.width += width;
+        return offset;
+    }
+
+    /**
+     * Registers an IMU, reading heading, roll and pitch (in radians, in that order)
+     * @param bus the name of the bus (or hub) the IMU is on
+     * @param imu the IMU
+     * @return the offset of the heading in {@link SensorSnapshot#values}
+     */
+    public int registerIMU(String bus, IMUWrapper imu) {
+        return register(bus, "imu", 3, imuReader(imu));
+    }
+
+    /**
+     * Registers a color sensor, reading red, green and blue (in that order)
+     * @param bus the name of the bus (or hub) the sensor is on
+     * @param colorSensor the color sensor
+     * @return the offset of red in {@link SensorSnapshot#values}
+     */
+    public int registerColorSensor(String bus, ColorSensorWrapper colorSensor) {
+        return register(bus, "color", 3, colorReader(colorSensor));
+    }
+
+    /**
+     * Registers the encoders of a group of motors, reading each motor's position in the group's order
+     * @param bus the name of the bus (or hub) the motors are on
+     * @param motors the motors
+     * @return the offset of the first motor's position in {@link SensorSnapshot#values}
+     */
+    public int registerEncoders(String bus, MotorGroup motors) {
+        return register(bus, "encoders", motors.size(), encoderReader(motors));
+    }
+
+    /**
+     * Makes a reader for an IMU's heading, roll and pitch (in radians, in that order)
+     * @param imu the IMU
+     * @return the reader, 3 values wide
+     */
+    public static Reader imuReader(final IMUWrapper imu) {
+        return new Reader() {
+            @Override
+            public void read(double[] values, int offset) {
+                Orientation orientation = imu.getOrientation().toAngleUnit(AngleUnit.RADIANS);
+                values[offset] = orientation.firstAngle;
+                values[offset + 1] = orientation.secondAngle;
+                values[offset + 2] = orientation.thirdAngle;
+            }
+        };
+    }
+
+    /**
+     * Makes a reader for a color sensor's red, green and blue (in that order)
+     * @param colorSensor the color sensor
+     * @return the reader, 3 values wide
+     */
+    public static Reader colorReader(final ColorSensorWrapper colorSensor) {
+        return new Reader() {
+            @Override
+            public void read(double[] values, int offset) {
+                values[offset] = colorSensor.getColorSensor().red();
+                values[offset + 1] = colorSensor.getColorSensor().green();
+                values[offset + 2] = colorSensor.getColorSensor().blue();
+            }
+        };
+    }
+
+    /**
+     * Makes a reader for the encoders of a group of motors, in the group's order
+     * @param motors the motors
+     * @return the reader, as wide as the group
+     */
+    public static Reader encoderReader(final MotorGroup motors) {
+        final int[] positions = new int[motors.size()];
+        return new Reader() {
+            @Override
+            public void read(double[] values, int offset) {
+                motors.getCurrentPositions(positions);
+                for (int i = 0; i < positions.length; i++) {
+                    values[offset + i] = positions[i];
+                }
+            }
+        };
+    }
+
+    /**
+     * Starts the worker threads. No devices can be registered after this. Call again after
+     * {@link SensorHub#shutdown()} to start over.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        snapshot.values = new double[width];
+        snapshot.busTimestamps = new long[buses.size()];
+        int started = ++generation;
+        go = new Semaphore[buses.size()];
+        done = new Semaphore(0);
+        workers = new Thread[Math.max(0, buses.size() - 1)];
+        for (int i = 0; i < workers.length; i++) {
+            Bus bus = buses.get(i + 1);
+            go[i + 1] = new Semaphore(0);
+            workers[i] = new Thread(new Worker(bus, started, go[i + 1], done), "robotplus-sensors-" + bus.name);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        shutDown = false;
+        running = true;
+    }
+
+    /**
+     * Stops the worker threads, waiting briefly for each to finish the read it's on. A worker stuck
+     * in a read longer than that is logged and left to exit on its own; it can't affect a later start.
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        shutDown = true;
+        generation++;
+        for (int i = 1; i < go.length; i++) {
+            go[i].release();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(JOIN_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (worker.isAlive()) {
+                RobotLog.ww("SensorHub", "%s is still reading after shutdown", worker.getName());
+            }
+        }
+        workers = null;
+    }
+
+    /**
+     * Reads every device, with each bus read in parallel, and waits for all of them. The first poll
+     * starts the hub if {@link SensorHub#start()} hasn't been called.
+     * @return the snapshot, which is reused and overwritten by the next poll
+     * @throws IllegalStateException if the hub has been shut down and not started again
+     */
+    public SensorSnapshot poll() {
+        if (!running) {
+            synchronized (this) {
+                if (shutDown) {
+                    throw new IllegalStateException("the hub has been shut down; call start() to use it again");
+                }
+                start();
+            }
+        }
+        Semaphore[] go = this.go;
+        Semaphore done = this.done;
+        snapshot.timestamp = System.nanoTime();
+        snapshot.sequence++;
+        for (int i = 1; i < go.length; i++) {
+            go[i].release();
+        }
+        if (!buses.isEmpty()) {
+            buses.get(0).readAll();
+        }
+        done.acquireUninterruptibly(Math.max(0, go.length - 1));
+        return snapshot;
+    }
+
+    /**
+     * @return the number of values in a snapshot
+     */
+    public int getWidth() {
+        return width;
+    }
+}
@@ -0,0 +1,249 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import com.qualcomm.robotcore.util.RobotLog;
+
+import java.util.Arrays;
+
+/**
+ * Decides which sensors to actually read each loop. Every sensor gets a target rate and a
+ * priority; {@link SensorScheduler#update()} reads the sensors that are due, most important
+ * (and most overdue) first, until the loop's time budget for sensors is used up. Everything
+ * else keeps serving the value from its last read.
+ * <p>
+ * How long each sensor takes to read is learned as it goes, so a slow read that won't fit in
+ * what's left of the budget is put off to the next loop instead of blowing through it. A sensor
+ * that keeps getting put off becomes more urgent the longer it waits, so nothing starves.
+ * @since 10/19/26
+ */
+public class SensorScheduler {
+
+    private static class Sensor {
+        final String name;
+        final int priority;
+        final int offset;
+        final int width;
+        final SensorHub.Reader reader;
+        long periodNanos;
+        long lastRead = Long.MIN_VALUE;
+        double averageCostNanos;
+        long reads;
+        long deferrals;
+        boolean readThisLoop;
+
+        Sensor(String name, double rateHz, int priority, int offset, int width, SensorHub.Reader reader) {
+            this.name = name;
+            this.priority = priority;
+            this.offset = offset;
+            this.width = width;
+            this.reader = reader;
+            this.periodNanos = toPeriod(rateHz);
+        }
+    }
+
+    private Sensor[] sensors = new Sensor[0];
+    private double[] values = new double[0];
+    private long budgetNanos;
+    private double rateScale = 1;
+
+    /**
+     * Creates a scheduler
+     * @param budgetMillis how long sensor reads may take in total each loop, in milliseconds
+     */
+    public SensorScheduler(double budgetMillis) {
+        setBudgetMillis(budgetMillis);
+    }
+
+    private static long toPeriod(double rateHz) {
+        if (rateHz <= 0) {
+            throw new IllegalArgumentException("rate must be positive: " + rateHz);
+        }
+        return (long) (1e9 / rateHz);
+    }
+
+    /**
+     * Adds a sensor
+     * @param name the sensor's name, for logging
+     * @param rateHz how often the sensor should be read, in reads per second
+     * @param priority higher gets read first when there isn't time for everything
+     * @param width how many values the sensor reads
+     * @param reader reads the sensor
+     * @return the sensor's id, for getting its values
+     */
+    public synchronized int add(String name, double rateHz, int priority, int width, SensorHub.Reader reader) {
+        int offset = values.length;
+        values = Arrays.copyOf(values, offset + width);
+        Arrays.fill(values, offset, offset + width, Double.NaN);
+        sensors = Arrays.copyOf(sensors, sensors.length + 1);
+        sensors[sensors.length - 1] = new Sensor(name, rateHz, priority, offset, width, reader);
+        return sensors.length - 1;
+    }
+
+    /**
+     * Changes how often a sensor is read, i.e. reading the IMU less while the robot is sitting still
+     * @param id the sensor's id
+     * @param rateHz how often the sensor should be read, in reads per second
+     */
+    public void setRate(int id, double rateHz) {
+        sensors[id].periodNanos = toPeriod(rateHz);
+    }
+
+    /**
+     * Slows down (or speeds back up) every sensor at once
+     * @param rateScale what every sensor's rate is multiplied by, i.e. 0.5 to read everything half as often
+     */
+    public void setRateScale(double rateScale) {
+        if (rateScale <= 0) {
+            throw new IllegalArgumentException("rate scale must be positive: " + rateScale);
+        }
+        this.rateScale = rateScale;
+    }
+
+    /**
+     * @return what every sensor's rate is currently multiplied by
+     */
+    public double getRateScale() {
+        return rateScale;
+    }
+
+    /**
+     * Sets how long sensor reads may take in total each loop
+     * @param budgetMillis the budget, in milliseconds
+     */
+    public void setBudgetMillis(double budgetMillis) {
+        this.budgetNanos = (long) (budgetMillis * 1e6);
+    }
+
+    /**
+     * Reads whichever sensors are due and fit in the budget. Call once per loop.
+     * @return the number of sensors read
+     */
+    public int update() {
+        long start = System.nanoTime();
+        for (Sensor sensor : sensors) {
+            sensor.readThisLoop = false;
+        }
+
+        int count = 0;
+        while (true) {
+            long now = System.nanoTime();
+            long remaining = budgetNanos - (now - start);
+            Sensor next = pickNext(now);
+            if (next == null) {
+                break;
+            }
+            // Always let the first read through, so a budget that's too small still makes progress
+            if (count > 0 && next.averageCostNanos > remaining) {
+                deferRemaining(now);
+                break;
+            }
+            read(next, now);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Picks the most urgent due sensor that hasn't been read this loop: highest priority first, then whichever
+     * is the most periods overdue. Waiting adds to a sensor's priority, one level per period overdue.
+     */
+    private Sensor pickNext(long now) {
+        Sensor best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Sensor sensor : sensors) {
+            if (sensor.readThisLoop) {
+                continue;
+            }
+            long period = (long) (sensor.periodNanos / rateScale);
+            double overdue = sensor.lastRead == Long.MIN_VALUE
+                    ? Double.MAX_VALUE / 2 : (double) (now - sensor.lastRead) / period;
+            if (overdue < 1) {
+                continue;
+            }
+            double score = sensor.priority + (overdue - 1);
+            if (score > bestScore) {
+                best = sensor;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private void deferRemaining(long now) {
+        for (Sensor sensor : sensors) {
+            if (!sensor.readThisLoop && sensor.lastRead != Long.MIN_VALUE
+                    && now - sensor.lastRead >= (long) (sensor.periodNanos / rateScale)) {
+                sensor.deferrals++;
+            }
+        }
+    }
+
+    private void read(Sensor sensor, long now) {
+        sensor.readThisLoop = true;
+        try {
+            sensor.reader.read(values, sensor.offset);
+        } catch (RuntimeException e) {
+            RobotLog.ee("SensorScheduler", e, "reading %s failed", sensor.name);
+        }
+        long end = System.nanoTime();
+        double cost = end - now;
+        sensor.averageCostNanos = sensor.reads == 0 ? cost : sensor.averageCostNanos + 0.2 * (cost - sensor.averageCostNanos);
+        sensor.lastRead = now;
+        sensor.reads++;
+    }
+
+    /**
+     * Reads a sensor right now, regardless of its rate or the budget
+     * @param id the sensor's id
+     */
+    public void forceRead(int id) {
+        read(sensors[id], System.nanoTime());
+    }
+
+    /**
+     * Gets one of a sensor's values from its last read
+     * @param id the sensor's id
+     * @param index which of the sensor's values
+     * @return the value, or NaN if the sensor hasn't been read yet
+     */
+    public double getValue(int id, int index) {
+        Sensor sensor = sensors[id];
+        if (index < 0 || index >= sensor.width) {
+            throw new IndexOutOfBoundsException(sensor.name + " has " + sensor.width + " values");
+        }
+        return values[sensor.offset + index];
+    }
+
+    /**
+     * Gets how long ago a sensor was last read
+     * @param id the sensor's id
+     * @return the age of its values in milliseconds, or infinity if it hasn't been read yet
+     */
+    public double getAgeMillis(int id) {
+        long lastRead = sensors[id].lastRead;
+        return lastRead == Long.MIN_VALUE ? Double.POSITIVE_INFINITY : (System.nanoTime() - lastRead) / 1e6;
+    }
+
+    /**
+     * @param id the sensor's id
+     * @return the number of times the sensor has been read
+     */
+    public long getReadCount(int id) {
+        return sensors[id].reads;
+    }
+
+    /**
+     * @param id the sensor's id
+     * @return the number of loops the sensor was due but put off for lack of time
+     */
+    public long getDeferralCount(int id) {
+        return sensors[id].deferrals;
+    }
+
+    /**
+     * @param id the sensor's id
+     * @return how long the sensor usually takes to read, in milliseconds
+     */
+    public double getAverageReadMillis(int id) {
+        return sensors[id].averageCostNanos / 1e6;
+    }
+}
@@ -24,6 +24,21 @@ public class TankDrive extends Drivetrain implements EncoderValues {
      */
     private MotorPair rightMotors;
 
+    /**
+     * every motor in the drivetrain, left side first, so all of them can be set in one pass
+     */
+    private MotorGroup motors;
+
+    /**
+     * how many of {@link TankDrive#motors} are on the left side
+     */
+    private int leftCount;
+
+    /**
+     * scratch space for the per-motor powers, so driving doesn't allocate
+     */
+    private double[] powers;
+
     /**
      * Create an empty tankdrive (with the motors automatically set to NeveRest40s)
      */
@@ -39,10 +54,84 @@ public class TankDrive extends Drivetrain implements EncoderValues {
     public TankDrive(HardwareMap hardwareMap){
         leftMotors = new MotorPair(hardwareMap, "left front", "left back");
         rightMotors = new MotorPair(hardwareMap, "right front", "right back");
+        updateMotors();
+
+        setMotorType(Motor.NEVERREST40);
+    }
+
+    /**
+     * The same quick setup as {@link TankDrive#TankDrive(HardwareMap)}, resolving the motors through
+     * the robot's HardwareRegistry.
+     * @param registry the robot's HardwareRegistry
+     */
+    public TankDrive(HardwareRegistry registry){
+        leftMotors = new MotorPair(registry, "left front", "left back");
+        rightMotors = new MotorPair(registry, "right front", "right back");
+        updateMotors();
 
         setMotorType(Motor.NEVERREST40);
     }
 
+    /**
+     * Creates a TankDrive with any number of motors per side (i.e. a six-motor drivetrain).
+     * The MotorPair getters return null for a TankDrive made this way, and velocity control isn't available.
+     * @param motors every motor in the drivetrain, left side first
+     * @param leftCount how many of the motors are on the left side
+     */
+    public TankDrive(MotorGroup motors, int leftCount){
+        setMotors(motors, leftCount);
+
+        setMotorType(Motor.NEVERREST40);
+    }
+
+    private void updateMotors() {
+        if (leftMotors != null && rightMotors != null) {
+            setMotors(MotorGroup.of(leftMotors, rightMotors), 2);
+        }
+    }
+
+    private void setMotors(MotorGroup motors, int leftCount) {
+        this.motors = motors;
+        this.leftCount = leftCount;
+        this.powers = new double[motors.size()];
+    }
+
+    /**
+     * Sets the power of each side in one pass, applying voltage compensation if it is turned on.
+     * @param left the power for the left side
+     * @param right the power for the right side
+     */
+    private void setSidePowers(double left, double right) {
+        for (int i = 0; i < powers.length; i++) {
+            powers[i] = i < leftCount ? left : right;
+        }
+        compensate(powers, getVoltageScale());
+        motors.setPowers(powers);
+    }
+
+    /**
+     * Gets the average power one side of the drivetrain is set to
+     * @param left whether to average the left side (otherwise the right)
+     * @return the average power
+     */
+    private double getSidePower(boolean left) {
+        int start = left ? 0 : leftCount;
+        int end = left ? leftCount : motors.size();
+        double sum = 0;
+        for (int i = start; i < end; i++) {
+            sum += motors.getMotor(i).getPower();
+        }
+        return end > start ? sum / (end - start) : 0;
+    }
+
+    /**
+     * Returns {@link TankDrive#motors}
+     * @return {@link TankDrive#motors}
+     */
+    public MotorGroup getMotors() {
+        return motors;
+    }
+
     /**
      * Returns {@link TankDrive#leftMotors}
      * @return {@link TankDrive#leftMotors}
@@ -65,6 +154,7 @@ public class TankDrive extends Drivetrain implements EncoderValues {
      */
     public void setLeftMotors(MotorPair leftMotors) {
         this.leftMotors = leftMotors;
+        updateMotors();
     }
 
     /**
@@ -73,6 +163,7 @@ public class TankDrive extends Drivetrain implements EncoderValues {
      */
     public void setRightMotors(MotorPair rightMotors) {
         this.rightMotors = rightMotors;
+        updateMotors();
     }
 
     /**
@@ -80,10 +171,7 @@ public class TankDrive extends Drivetrain implements EncoderValues {
      * @param position the requested target encoder position
      */
     public void setTargetPosition(int position) {
-        leftMotors.getMotor1().setTargetPosition(position);
-        leftMotors.getMotor2().setTargetPosition(position);
-        rightMotors.getMotor1().setTargetPosition(position);
-        rightMotors.getMotor2().setTargetPosition(position);
+        motors.setTargetPositions(position);
     }
 
     /**
@@ -93,43 +181,71 @@ public class TankDrive extends Drivetrain implements EncoderValues {
     public void turnDegrees(int degrees) {
         switch (degrees) {
             case 90 : // turn 90 degrees
-                this.getLeftMotors().getMotor1().setTargetPosition(FULL_ROTATION * 2);
-                this.getLeftMotors().getMotor2().setTargetPosition(FULL_ROTATION * 2);
+                motors.setTargetPositions(0, leftCount, FULL_ROTATION * 2);
                 break;
             default : break;
         }
     }
 
+    /**
+     * Turns on software velocity control for both sides
+     * @param gains the controller whose gains to use for every motor
+     * @see MotorPair#enableVelocityControl(VelocityController)
+     */
+    public void enableVelocityControl(VelocityController gains) {
+        if (leftMotors == null || rightMotors == null) {
+            throw new IllegalStateException("velocity control needs the drivetrain to be made of MotorPairs");
+        }
+        leftMotors.enableVelocityControl(gains);
+        rightMotors.enableVelocityControl(gains);
+    }
+
+    /**
+     * Drives each side at a velocity. Call this every loop while velocity control is on.
+     * @param left the velocity for the left side, in encoder ticks per second
+     * @param right the velocity for the right side, in encoder ticks per second
+     */
+    public void setVelocities(double left, double right) {
+        leftMotors.setVelocities(left);
+        rightMotors.setVelocities(right);
+    }
+
     @Override
     public void defaultDrive(Gamepad gamepad, Telemetry telemetry){
-        leftMotors.setPowers(gamepad.left_stick_y);
-        rightMotors.setPowers(gamepad.right_stick_y);
-        telemetry.addData("Left Side Power", "Power " + (leftMotors.getBackPower() + leftMotors.getFrontPower()) /2 );
-        telemetry.addData("Right Side Power", "Power " + (rightMotors.getBackPower() + rightMotors.getFrontPower()) /2 );
+        setSidePowers(gamepad.left_stick_y, gamepad.right_stick_y);
+        telemetry.addData("Left Side Power", "Power " + getSidePower(true));
+        telemetry.addData("Right Side Power", "Power " + getSidePower(false));
     }
 
 
     @Override
     public void setPower(double power){
-        rightMotors.setPowers(power);
-        leftMotors.setPowers(power);
+        motors.setPower(compensate(power, getVoltageScale()));
     }
 
     @Override
     public void setModes(DcMotor.RunMode mode){
-        leftMotors.setModes(mode);
-        rightMotors.setModes(mode);
+        motors.setModes(mode);
     }
 
     @Override
     public void resetEncoders(){
-        rightMotors.resetEncoders();
-        leftMotors.resetEncoders();
+        if (leftMotors != null && rightMotors != null) {
+            // Lets the pairs know their encoders jumped, for velocity control
+            rightMotors.resetEncoders();
+            leftMotors.resetEncoders();
+        } else {
+            motors.resetEncoders(DcMotor.RunMode.RUN_TO_POSITION);
+        }
     }
 
     @Override
     public void stopMoving(){
-        leftMotors.setPowers(0);
-        rightMotors.setPowers(0);
+        motors.stopMoving();
+        if (leftMotors != null && rightMotors != null) {
+            // The motors were stopped through the group, so the pairs' velocity samples are stale
+            leftMotors.forgetSamples();
+            rightMotors.forgetSamples();
+        }
     }
 }
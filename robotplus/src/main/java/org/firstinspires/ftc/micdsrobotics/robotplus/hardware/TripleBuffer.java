@@ -0,0 +1,86 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the latest value of something from one thread to another without locks or allocation.
+ * There are three preallocated copies: the writer fills one, the reader reads another, and the
+ * third sits in the middle holding the newest published value. Neither side ever waits on the
+ * other, and the reader always sees a complete value (never one the writer is halfway through).
+ * <p>
+ * Only one thread may write and only one thread may read.
+ * @param <T> the type being handed off; it should be mutable, since copies are reused
+ * @since 10/19/26
+ */
+public class TripleBuffer<T> {
+
+    /**
+     * set in {@link TripleBuffer#middle} when it holds a value the reader hasn't seen yet
+     */
+    private static final int DIRTY = 4;
+
+    private final T[] buffers;
+
+    /**
+     * the index of the middle buffer, plus {@link TripleBuffer#DIRTY} if it is new
+     */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /**
+     * the index of the buffer only the writer touches
+     */
+    private int back = 0;
+
+    /**
+     * the index of the buffer only the reader touches
+     */
+    private int front = 2;
+
+    /**
+     * Creates a triple buffer from three separate instances of the value
+     * @param first an instance
+     * @param second another instance
+     * @param third another instance
+     */
+    @SuppressWarnings("unchecked")
+    public TripleBuffer(T first, T second, T third) {
+        if (first == second || second == third || first == third) {
+            throw new IllegalArgumentException("the three buffers must be different objects");
+        }
+        buffers = (T[]) new Object[] {first, second, third};
+    }
+
+    /**
+     * Writer side: gets the copy to fill in before {@link TripleBuffer#publish()}
+     * @return the writer's copy
+     */
+    public T getWriteBuffer() {
+        return buffers[back];
+    }
+
+    /**
+     * Writer side: makes the filled-in copy the newest value
+     */
+    public void publish() {
+        back = middle.getAndSet(back | DIRTY) & 3;
+    }
+
+    /**
+     * Reader side: gets the newest published value. The returned copy won't change until the next call.
+     * @return the newest value (the same as last time if nothing new has been published)
+     */
+    public T read() {
+        if ((middle.get() & DIRTY) != 0) {
+            front = middle.getAndSet(front) & 3;
+        }
+        return buffers[front];
+    }
+
+    /**
+     * Reader side: checks whether there is a value the reader hasn't seen yet
+     * @return true if {@link TripleBuffer#read()} would return a new value
+     */
+    public boolean hasUpdate() {
+        return (middle.get() & DIRTY) != 0;
+    }
+}
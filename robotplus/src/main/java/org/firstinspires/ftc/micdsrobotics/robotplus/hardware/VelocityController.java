@@ -0,0 +1,165 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+/**
+ * Software velocity controller for one motor, working in encoder ticks per second.
+ * The output power is a feedforward term (kS, kV, kA) that gets the motor close to the
+ * target by itself, plus PID on the velocity error to make up the rest.
+ * <p>
+ * To keep the integral from winding up while the motor is saturated or far from the target,
+ * it is only accumulated when the error is inside the integral zone and the output isn't
+ * clipped, and it is always limited to the integral limit.
+ * @since 10/19/26
+ */
+public class VelocityController {
+
+    private double kS;
+    private double kV;
+    private double kA;
+    private double kP;
+    private double kI;
+    private double kD;
+
+    /**
+     * the largest contribution (in power) the integral term can make
+     */
+    private double integralLimit = 0.25;
+
+    /**
+     * the largest error (in ticks per second) the integral accumulates at
+     */
+    private double integralZone = Double.POSITIVE_INFINITY;
+
+    private double integral;
+    private double lastMeasured;
+    private boolean hasLast;
+    private double lastError;
+    private double lastOutput;
+
+    /**
+     * Creates a controller with all gains at 0
+     */
+    public VelocityController() { }
+
+    /**
+     * Creates a controller with the given gains. Velocities are in ticks per second, powers from -1 to 1.
+     * @param kS static power needed to get the motor moving
+     * @param kV power per tick per second
+     * @param kA power per tick per second squared
+     * @param kP power per tick per second of error
+     * @param kI power per tick of accumulated error
+     * @param kD power per tick per second squared of change in measured velocity
+     */
+    public VelocityController(double kS, double kV, double kA, double kP, double kI, double kD) {
+        setFeedforward(kS, kV, kA);
+        setPID(kP, kI, kD);
+    }
+
+    /**
+     * Creates a controller with the same gains and anti-windup settings as another one, but none of its state
+     * @param other the controller to copy
+     */
+    public VelocityController(VelocityController other) {
+        this(other.kS, other.kV, other.kA, other.kP, other.kI, other.kD);
+        this.integralLimit = other.integralLimit;
+        this.integralZone = other.integralZone;
+    }
+
+    /**
+     * Sets the feedforward gains
+     * @param kS static power needed to get the motor moving
+     * @param kV power per tick per second
+     * @param kA power per tick per second squared
+     */
+    public void setFeedforward(double kS, double kV, double kA) {
+        this.kS = kS;
+        this.kV = kV;
+        this.kA = kA;
+    }
+
+    /**
+     * Sets the feedback gains
+     * @param kP power per tick per second of error
+     * @param kI power per tick of accumulated error
+     * @param kD power per tick per second squared of change in measured velocity
+     */
+    public void setPID(double kP, double kI, double kD) {
+        this.kP = kP;
+        this.kI = kI;
+        this.kD = kD;
+    }
+
+    /**
+     * Configures the anti-windup
+     * @param integralLimit the largest contribution (in power) the integral term can make
+     * @param integralZone the largest error (in ticks per second) at which the integral accumulates
+     */
+    public void setAntiWindup(double integralLimit, double integralZone) {
+        this.integralLimit = Math.abs(integralLimit);
+        this.integralZone = Math.abs(integralZone);
+    }
+
+    /**
+     * Computes the power to send to the motor.
+     * @param targetVelocity the velocity to hold, in ticks per second
+     * @param targetAcceleration the acceleration being asked for, in ticks per second squared (0 if unknown)
+     * @param measuredVelocity the motor's current velocity, in ticks per second
+     * @param dt the time since the last update, in seconds (0 if there isn't a last update)
+     * @return the power, from -1 to 1
+     */
+    public double update(double targetVelocity, double targetAcceleration, double measuredVelocity, double dt) {
+        double feedforward = kV * targetVelocity + kA * targetAcceleration;
+        if (targetVelocity != 0) {
+            feedforward += Math.signum(targetVelocity) * kS;
+        }
+
+        double error = targetVelocity - measuredVelocity;
+        double derivative = 0;
+        if (dt > 0 && hasLast) {
+            // Derivative on measurement, so that a change in target doesn't kick the output
+            derivative = -(measuredVelocity - lastMeasured) / dt;
+
+            // Conditional integration: don't accumulate while saturated in the direction of the error
+            boolean saturated = Math.abs(lastOutput) >= 1 && Math.signum(lastOutput) == Math.signum(error);
+            if (kI != 0 && Math.abs(error) <= integralZone && !saturated) {
+                integral += error * dt;
+                double limit = integralLimit / Math.abs(kI);
+                integral = MotorPair.clamp(integral, -limit, limit);
+            }
+        }
+        if (kI != 0 && Math.abs(error) > integralZone) {
+            integral = 0;
+        }
+
+        lastMeasured = measuredVelocity;
+        lastError = error;
+        hasLast = true;
+
+        double output = feedforward + kP * error + kI * integral + kD * derivative;
+        lastOutput = MotorPair.clamp(output, -1, 1);
+        return lastOutput;
+    }
+
+    /**
+     * Clears the integral and the last measurement, i.e. after the motor has been stopped
+     */
+    public void reset() {
+        integral = 0;
+        hasLast = false;
+        lastError = 0;
+        lastOutput = 0;
+    }
+
+    /**
+     * @return the velocity error from the last update, in ticks per second
+     */
+    public double getLastError() {
+        return lastError;
+    }
+
+    /**
+     * @return the power from the last update
+     */
+    public double getLastOutput() {
+        return lastOutput;
+    }
+}
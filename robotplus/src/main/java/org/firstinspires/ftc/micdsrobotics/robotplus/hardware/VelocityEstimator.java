@@ -0,0 +1,252 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+/**
+ * Estimates one encoder's velocity and acceleration from timestamped position samples, so velocity
+ * control, odometry and stall detection don't each have to differentiate the encoder on their own.
+ * Samples are kept in primitive ring buffers, and updates don't allocate.
+ * <p>
+ * There are three ways to estimate, picked with {@link Method}:
+ * <ul>
+ *     <li>{@link Method#FINITE_DIFFERENCE}: the change since the last sample. No lag, but the noisiest.</li>
+ *     <li>{@link Method#LEAST_SQUARES}: fits a parabola to the last few samples and takes its slope
+ *     and curvature at the newest one. Smooth, and doesn't lag much behind steady acceleration.</li>
+ *     <li>{@link Method#ALPHA_BETA}: an alpha-beta filter, which predicts each position from the last
+ *     estimate and corrects by a fraction of the miss. Cheap and smooth, tuned with alpha and beta.</li>
+ * </ul>
+ * @since 10/19/26
+ */
+public class VelocityEstimator {
+
+    /**
+     * How the velocity is estimated
+     */
+    public enum Method {
+        FINITE_DIFFERENCE,
+        LEAST_SQUARES,
+        ALPHA_BETA
+    }
+
+    private final Method method;
+    private final int window;
+    private final double alpha;
+    private final double beta;
+
+    private final long[] times;
+    private final int[] positions;
+    private int index;
+    private int count;
+
+    /**
+     * how many samples have been added since the last reset, unlike count which stops at the window
+     */
+    private long samples;
+
+    private double velocity;
+    private double acceleration;
+
+    /**
+     * the alpha-beta filter's position estimate
+     */
+    private double filteredPosition;
+
+    /**
+     * Creates a finite difference estimator
+     */
+    public VelocityEstimator() {
+        this(Method.FINITE_DIFFERENCE, 2, 0, 0);
+    }
+
+    /**
+     * Creates a least squares estimator
+     * @param window how many samples to fit, at least 3
+     */
+    public VelocityEstimator(int window) {
+        this(Method.LEAST_SQUARES, window, 0, 0);
+    }
+
+    /**
+     * Creates an alpha-beta estimator
+     * @param alpha how much of a position miss to correct the position by, from 0 to 1
+     * @param beta how much of a position miss to correct the velocity by, from 0 to 2; usually much less than alpha
+     */
+    public VelocityEstimator(double alpha, double beta) {
+        this(Method.ALPHA_BETA, 2, alpha, beta);
+    }
+
+    /**
+     * Creates an estimator with the same settings as another one, but none of its samples
+     * @param other the estimator to copy the settings of
+     */
+    public VelocityEstimator(VelocityEstimator other) {
+        this(other.method, other.window, other.alpha, other.beta);
+    }
+
+    private VelocityEstimator(Method method, int window, double alpha, double beta) {
+        if (method == Method.LEAST_SQUARES && window < 3) {
+            throw new IllegalArgumentException("a least squares window needs at least 3 samples");
+        }
+        this.method = method;
+        this.window = window;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.times = new long[window];
+        this.positions = new int[window];
+    }
+
+    /**
+     * Adds a sample and updates the estimates
+     * @param timeNanos when the position was read, from {@link System#nanoTime()}
+     * @param position the encoder position, in ticks
+     */
+    public void update(long timeNanos, int position) {
+        if (count > 0 && timeNanos <= times[newest()]) {
+            // Same sample twice (or a clock that went backwards); nothing to learn from it
+            return;
+        }
+
+        double previousVelocity = velocity;
+        long previousTime = count > 0 ? times[newest()] : timeNanos;
+        int previousPosition = count > 0 ? positions[newest()] : position;
+
+        times[index] = timeNanos;
+        positions[index] = position;
+        index = (index + 1) % window;
+        if (count < window) count++;
+        samples++;
+
+        if (count == 1) {
+            velocity = 0;
+            acceleration = 0;
+            filteredPosition = position;
+            return;
+        }
+
+        double dt = (timeNanos - previousTime) * 1e-9;
+        switch (method) {
+            case FINITE_DIFFERENCE:
+                velocity = (position - previousPosition) / dt;
+                acceleration = samples > 2 ? (velocity - previousVelocity) / dt : 0;
+                break;
+            case LEAST_SQUARES:
+                fit();
+                break;
+            case ALPHA_BETA:
+                double predicted = filteredPosition + velocity * dt;
+                double residual = position - predicted;
+                filteredPosition = predicted + alpha * residual;
+                velocity += beta * residual / dt;
+                acceleration = (velocity - previousVelocity) / dt;
+                break;
+        }
+    }
+
+    /**
+     * Fits position = c0 + c1 t + c2 t^2 to the window, with t and position measured from the newest
+     * sample so the sums stay small. The velocity is then c1 and the acceleration 2 c2.
+     */
+    private void fit() {
+        int newest = newest();
+        long t0 = times[newest];
+        int p0 = positions[newest];
+
+        // Centers and scales the times into [-1, 1], so how well-conditioned the fit is doesn't
+        // depend on the units or on how far apart the samples are
+        double mean = 0;
+        for (int i = 0; i < count; i++) {
+            mean += (times[i] - t0) * 1e-9;
+        }
+        mean /= count;
+        double scale = 0;
+        for (int i = 0; i < count; i++) {
+            scale = Math.max(scale, Math.abs((times[i] - t0) * 1e-9 - mean));
+        }
+        if (scale == 0) {
+            velocity = 0;
+            acceleration = 0;
+            return;
+        }
+
+        double s1 = 0, s2 = 0, s3 = 0, s4 = 0;
+        double sp = 0, stp = 0, st2p = 0;
+        for (int i = 0; i < count; i++) {
+            double t = ((times[i] - t0) * 1e-9 - mean) / scale;
+            double p = positions[i] - p0;
+            double t2 = t * t;
+            s1 += t;
+            s2 += t2;
+            s3 += t2 * t;
+            s4 += t2 * t2;
+            sp += p;
+            stp += t * p;
+            st2p += t2 * p;
+        }
+        double n = count;
+        // Where the newest sample is on the scaled axis
+        double newestT = -mean / scale;
+
+        if (count >= 3) {
+            // Cramer's rule on the normal equations; every sum is at most n, so the determinant
+            // is compared to n^3 rather than to a fixed cutoff
+            double det = n * (s2 * s4 - s3 * s3) - s1 * (s1 * s4 - s3 * s2) + s2 * (s1 * s3 - s2 * s2);
+            if (Math.abs(det) > 1e-9 * n * n * n) {
+                double detC1 = n * (stp * s4 - s3 * st2p) - sp * (s1 * s4 - s3 * s2) + s2 * (s1 * st2p - stp * s2);
+                double detC2 = n * (s2 * st2p - stp * s3) - s1 * (s1 * st2p - stp * s2) + sp * (s1 * s3 - s2 * s2);
+                double c1 = detC1 / det;
+                double c2 = detC2 / det;
+                velocity = (c1 + 2 * c2 * newestT) / scale;
+                acceleration = 2 * c2 / (scale * scale);
+                return;
+            }
+        }
+
+        // Not enough spread for a parabola, so fit a line
+        double det = n * s2 - s1 * s1;
+        velocity = det == 0 ? 0 : (n * stp - s1 * sp) / det / scale;
+        acceleration = 0;
+    }
+
+    private int newest() {
+        return (index + window - 1) % window;
+    }
+
+    /**
+     * Forgets every sample, i.e. after the encoder is reset
+     */
+    public void reset() {
+        index = 0;
+        count = 0;
+        samples = 0;
+        velocity = 0;
+        acceleration = 0;
+        filteredPosition = 0;
+    }
+
+    /**
+     * @return the estimated velocity, in ticks per second
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * @return the estimated acceleration, in ticks per second squared
+     */
+    public double getAcceleration() {
+        return acceleration;
+    }
+
+    /**
+     * @return the estimated position, in ticks; filtered for {@link Method#ALPHA_BETA}, otherwise the newest sample
+     */
+    public double getPosition() {
+        if (count == 0) return 0;
+        return method == Method.ALPHA_BETA ? filteredPosition : positions[newest()];
+    }
+
+    /**
+     * @return how the velocity is estimated
+     */
+    public Method getMethod() {
+        return method;
+    }
+}
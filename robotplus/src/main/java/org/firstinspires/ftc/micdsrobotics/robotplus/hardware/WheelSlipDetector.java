@@ -0,0 +1,236 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.hardware;
+
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Vector3d;
+
+/**
+ * Catches mecanum wheels slipping by comparing how much the encoders say the robot sped up against
+ * how much the IMU says it did. Over a sliding window of loops, it sums up the change in chassis
+ * velocity from the drivetrain's {@link MotorPair}s and the IMU's linear acceleration (from
+ * {@link IMUAccelerationIntegrator}) times the loop time. If the two disagree by more than the
+ * threshold on an axis, that axis is slipping.
+ * <p>
+ * The axes follow {@link MecanumDrive#complexDrive(double, double, double)}: x is angle 0 and y is
+ * angle pi/2. The IMU's axes are assumed to line up with them unless
+ * {@link WheelSlipDetector#setIMUOrientation(double)} says otherwise.
+ * <p>
+ * Each update is constant time and doesn't allocate.
+ * @since 10/19/26
+ */
+public class WheelSlipDetector {
+
+    /**
+     * The axes slip is checked on
+     */
+    public enum Axis {
+        X,
+        Y
+    }
+
+    private final MecanumDrive drive;
+    private final IMUAccelerationIntegrator integrator;
+    private final double metersPerTick;
+
+    /**
+     * the velocity change from the encoders and from the IMU for each loop in the window, per axis
+     */
+    private final double[] encoderX;
+    private final double[] encoderY;
+    private final double[] imuX;
+    private final double[] imuY;
+    private int index;
+    private int count;
+
+    private double encoderSumX;
+    private double encoderSumY;
+    private double imuSumX;
+    private double imuSumY;
+
+    private double threshold = 0.15;
+    private double imuCos = 1;
+    private double imuSin = 0;
+
+    private final int[] lastPositions = new int[4];
+    private long lastTime;
+    private boolean hasSample;
+    private double lastVelocityX;
+    private double lastVelocityY;
+    private double wheelResidual;
+
+    private boolean slippingX;
+    private boolean slippingY;
+    private long slipEvents;
+
+    private final Vector3d position = new Vector3d();
+    private final Vector3d velocity = new Vector3d();
+    private final Vector3d acceleration = new Vector3d();
+
+    /**
+     * Creates a detector
+     * @param drive the drivetrain whose encoders to read
+     * @param integrator the integrator the IMU's acceleration comes from
+     * @param metersPerTick how far the robot moves per encoder tick
+     * @param window how many loops to compare over
+     */
+    public WheelSlipDetector(MecanumDrive drive, IMUAccelerationIntegrator integrator, double metersPerTick, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1");
+        }
+        this.drive = drive;
+        this.integrator = integrator;
+        this.metersPerTick = metersPerTick;
+        this.encoderX = new double[window];
+        this.encoderY = new double[window];
+        this.imuX = new double[window];
+        this.imuY = new double[window];
+    }
+
+    /**
+     * Sets how far apart the encoders and the IMU have to be to count as slipping
+     * @param metersPerSecond the largest allowed difference in velocity change over the window
+     */
+    public void setThreshold(double metersPerSecond) {
+        this.threshold = metersPerSecond;
+    }
+
+    /**
+     * Sets how the IMU is turned relative to the drivetrain's axes
+     * @param radians the angle from the drivetrain's x axis to the IMU's x axis, counterclockwise
+     */
+    public void setIMUOrientation(double radians) {
+        this.imuCos = Math.cos(radians);
+        this.imuSin = Math.sin(radians);
+    }
+
+    /**
+     * Reads the encoders and the IMU and checks for slip. Call once per loop.
+     * @return whether either axis is slipping
+     */
+    public boolean update() {
+        MotorPair major = drive.getMajorDiagonal();
+        MotorPair minor = drive.getMinorDiagonal();
+        int major1 = major.getMotor1().getCurrentPosition();
+        int major2 = major.getMotor2().getCurrentPosition();
+        int minor1 = minor.getMotor1().getCurrentPosition();
+        int minor2 = minor.getMotor2().getCurrentPosition();
+        long now = System.nanoTime();
+        integrator.getSnapshot(position, velocity, acceleration);
+
+        if (!hasSample) {
+            hasSample = true;
+        } else {
+            double dt = (now - lastTime) * 1e-9;
+            if (dt > 0) {
+                double dMajor1 = (major1 - lastPositions[0]) * metersPerTick / dt;
+                double dMajor2 = (major2 - lastPositions[1]) * metersPerTick / dt;
+                double dMinor1 = (minor1 - lastPositions[2]) * metersPerTick / dt;
+                double dMinor2 = (minor2 - lastPositions[3]) * metersPerTick / dt;
+
+                // Inverse of complexDrive: the majors carry x + y, the minors x - y, and rotation cancels in each pair's sum
+                double majorAverage = (dMajor1 + dMajor2) / 2;
+                double minorAverage = (dMinor1 + dMinor2) / 2;
+                double velocityX = (majorAverage + minorAverage) / 2;
+                double velocityY = (majorAverage - minorAverage) / 2;
+                // The one combination of four wheels a rigid chassis can't produce
+                wheelResidual = (dMajor1 - dMajor2 - dMinor1 + dMinor2) / 4;
+
+                double accelX = acceleration.x * imuCos - acceleration.y * imuSin;
+                double accelY = acceleration.x * imuSin + acceleration.y * imuCos;
+
+                push(velocityX - lastVelocityX, velocityY - lastVelocityY, accelX * dt, accelY * dt);
+                lastVelocityX = velocityX;
+                lastVelocityY = velocityY;
+            }
+        }
+        lastPositions[0] = major1;
+        lastPositions[1] = major2;
+        lastPositions[2] = minor1;
+        lastPositions[3] = minor2;
+        lastTime = now;
+
+        boolean wasSlipping = slippingX || slippingY;
+        boolean full = count == encoderX.length;
+        slippingX = full && Math.abs(encoderSumX - imuSumX) > threshold;
+        slippingY = full && Math.abs(encoderSumY - imuSumY) > threshold;
+        boolean slipping = slippingX || slippingY;
+        if (slipping && !wasSlipping) {
+            slipEvents++;
+            RobotLog.vv("WheelSlip", "slip: x %.3f m/s, y %.3f m/s", getDifference(Axis.X), getDifference(Axis.Y));
+        }
+        return slipping;
+    }
+
+    private void push(double encoderDx, double encoderDy, double imuDx, double imuDy) {
+        if (count == encoderX.length) {
+            encoderSumX -= encoderX[index];
+            encoderSumY -= encoderY[index];
+            imuSumX -= imuX[index];
+            imuSumY -= imuY[index];
+        } else {
+            count++;
+        }
+        encoderX[index] = encoderDx;
+        encoderY[index] = encoderDy;
+        imuX[index] = imuDx;
+        imuY[index] = imuDy;
+        encoderSumX += encoderDx;
+        encoderSumY += encoderDy;
+        imuSumX += imuDx;
+        imuSumY += imuDy;
+        index = (index + 1) % encoderX.length;
+    }
+
+    /**
+     * Clears the window, i.e. after the encoders are reset
+     */
+    public void reset() {
+        index = 0;
+        count = 0;
+        encoderSumX = encoderSumY = imuSumX = imuSumY = 0;
+        lastVelocityX = lastVelocityY = 0;
+        wheelResidual = 0;
+        hasSample = false;
+        slippingX = slippingY = false;
+    }
+
+    /**
+     * @param axis the axis to check
+     * @return whether the axis was slipping as of the last update
+     */
+    public boolean isSlipping(Axis axis) {
+        return axis == Axis.X ? slippingX : slippingY;
+    }
+
+    /**
+     * @return whether either axis was slipping as of the last update
+     */
+    public boolean isSlipping() {
+        return slippingX || slippingY;
+    }
+
+    /**
+     * Gets how far apart the encoders and the IMU are over the window
+     * @param axis the axis to check
+     * @return the encoders' velocity change minus the IMU's, in meters per second; positive means the wheels spun up faster than the robot did
+     */
+    public double getDifference(Axis axis) {
+        return axis == Axis.X ? encoderSumX - imuSumX : encoderSumY - imuSumY;
+    }
+
+    /**
+     * Gets how much the four wheels disagree with each other. A rigid chassis on four non-slipping
+     * wheels keeps this near zero, so it points at a single wheel slipping even when the IMU can't tell.
+     * @return the disagreement, in meters per second
+     */
+    public double getWheelResidual() {
+        return wheelResidual;
+    }
+
+    /**
+     * @return the number of times slip has started
+     */
+    public long getSlipEvents() {
+        return slipEvents;
+    }
+}
@@ -2,6 +2,7 @@ package org.firstinspires.ftc.micdsrobotics.robotplus.imagerecognition;
 
 import com.qualcomm.robotcore.hardware.HardwareMap;
 
+import org.firstinspires.ftc.micdsrobotics.robotplus.hardware.HardwareRegistry;
 import org.firstinspires.ftc.robotcore.external.ClassFactory;
 import org.firstinspires.ftc.robotcore.external.navigation.VuforiaLocalizer;
 
@@ -36,6 +37,11 @@ public class VuforiaWrapper {
      */
     private TrackerLoader loader;
 
+    /**
+     * Whether the trackables are being tracked
+     */
+    private volatile boolean active;
+
     /**
      * Give the VuforiaLocalizer context
      * @param map HardwareMap map from OpMode
@@ -50,6 +56,44 @@ public class VuforiaWrapper {
         this.loader = new TrackerLoader(this.vuforia, "RoverRuckus");
     }
 
+    /**
+     * Give the VuforiaLocalizer context from the robot's HardwareRegistry
+     * @param registry the robot's HardwareRegistry
+     */
+    public VuforiaWrapper(HardwareRegistry registry) {
+        this(registry.getHardwareMap());
+    }
+
+    /**
+     * Starts tracking the loaded trackables. Use this rather than activating the trackables from
+     * {@link VuforiaWrapper#getLoader()} directly, so {@link VuforiaWrapper#isActive()} (and
+     * anything relying on it, like LoopWatchdog) knows tracking is on.
+     */
+    public synchronized void activate() {
+        if (!active) {
+            this.loader.getTrackables().activate();
+            active = true;
+        }
+    }
+
+    /**
+     * Stops tracking the loaded trackables, freeing up the CPU time image processing takes
+     */
+    public synchronized void deactivate() {
+        if (active) {
+            this.loader.getTrackables().deactivate();
+            active = false;
+        }
+    }
+
+    /**
+     * Gets whether the trackables are being tracked
+     * @return true if tracking
+     */
+    public boolean isActive() {
+        return active;
+    }
+
     /**
      * Gets VuforiaLocalizer instance
      * @return the instance
@@ -0,0 +1,365 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.path;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Angle;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Pose2d;
+import org.firstinspires.ftc.micdsrobotics.robotplus.hardware.DriveConstants;
+import org.firstinspires.ftc.micdsrobotics.robotplus.hardware.MecanumDrive;
+import org.firstinspires.ftc.micdsrobotics.robotplus.hardware.MecanumWheels;
+
+/**
+ * Drives a {@link MecanumDrive} along a {@link Trajectory}. Every loop it looks up where the robot
+ * should be, adds feedback on where it actually is, turns the field-relative velocity into wheel
+ * speeds with the mecanum kinematics, and turns those into powers with the kS/kV/kA feedforward.
+ * Updates don't allocate.
+ * <p>
+ * There are two kinds of feedback ({@link Mode}):
+ * <ul>
+ *     <li>{@link Mode#PID}: PID on the x, y and heading error from where the robot should be right now.</li>
+ *     <li>{@link Mode#PURE_PURSUIT}: heads for a point a lookahead distance further along the path from
+ *     the closest point, at the trajectory's speed, which cuts corners less when the robot falls behind.
+ *     The heading still uses PID.</li>
+ * </ul>
+ * The pose has to come from somewhere else (odometry, or Vuforia), in the same units as the trajectory.
+ * The clock can be passed in too, so the same follower runs in a
+ * {@link org.firstinspires.ftc.micdsrobotics.robotplus.simulation.SimulatedRobot} faster than real time.
+ * The robot faces along the pose's heading, which is angle pi/2 (forward) of
+ * {@link MecanumDrive#complexDrive(double, double, double)}; angle 0 is to its right.
+ * @since 10/19/26
+ */
+public class HolonomicFollower {
+
+    /**
+     * The kind of feedback
+     */
+    public enum Mode {
+        PID,
+        PURE_PURSUIT
+    }
+
+    private final MecanumWheels drive;
+
+    /**
+     * half the track width plus half the wheelbase
+     */
+    private final double k;
+
+    private double kS;
+    private double kV;
+    private double kA;
+
+    private double translationP;
+    private double translationI;
+    private double translationD;
+    private double headingP;
+    private double headingI;
+    private double headingD;
+
+    private Mode mode = Mode.PID;
+    private double lookahead = 6;
+    private double translationTolerance = 0.5;
+    private double headingTolerance = Math.toRadians(2);
+    private double timeout = 1;
+
+    private Trajectory trajectory;
+    private long startTime;
+    private long lastTime;
+    private boolean following;
+
+    private final Trajectory.State target = new Trajectory.State();
+    private final Trajectory.State pursuit = new Trajectory.State();
+
+    private double integralX;
+    private double integralY;
+    private double integralHeading;
+    private double lastErrorX;
+    private double lastErrorY;
+    private double lastErrorHeading;
+
+    /**
+     * the tracking error in the robot's frame from the last update
+     */
+    private final Pose2d error = new Pose2d();
+    private double maxTranslationError;
+    private double sumSquaredError;
+    private int errorSamples;
+
+    /**
+     * Creates a follower
+     * @param drive the drive to follow with, i.e. a {@link MecanumDrive}
+     * @param constraints the drive's constraints, for the distance from the center to the wheels
+     * @param kS static power needed to get a wheel moving
+     * @param kV power per unit per second of wheel speed
+     * @param kA power per unit per second squared of wheel acceleration
+     */
+    public HolonomicFollower(MecanumWheels drive, MecanumConstraints constraints, double kS, double kV, double kA) {
+        this.drive = drive;
+        this.k = constraints.k;
+        setFeedforward(kS, kV, kA);
+    }
+
+    public void setFeedforward(double kS, double kV, double kA) {
+        this.kS = kS;
+        this.kV = kV;
+        this.kA = kA;
+    }
+
+    /**
+     * Sets the feedforward from characterized constants, which are per encoder tick
+     * @param constants the constants
+     * @param ticksPerUnit encoder ticks per unit of wheel travel
+     */
+    public void setFeedforward(DriveConstants constants, double ticksPerUnit) {
+        setFeedforward(constants.kS, constants.kV * ticksPerUnit, constants.kA * ticksPerUnit);
+    }
+
+    /**
+     * Sets the feedback gains for x and y, in units per second of correction per unit of error
+     */
+    public void setTranslationPID(double kP, double kI, double kD) {
+        this.translationP = kP;
+        this.translationI = kI;
+        this.translationD = kD;
+    }
+
+    /**
+     * Sets the feedback gains for heading, in radians per second of correction per radian of error
+     */
+    public void setHeadingPID(double kP, double kI, double kD) {
+        this.headingP = kP;
+        this.headingI = kI;
+        this.headingD = kD;
+    }
+
+    /**
+     * Sets the kind of feedback
+     * @param mode the kind of feedback
+     * @param lookahead for pure pursuit, how far ahead along the path to aim
+     */
+    public void setMode(Mode mode, double lookahead) {
+        this.mode = mode;
+        this.lookahead = lookahead;
+    }
+
+    /**
+     * Sets how close to the end the robot has to be to be done, and how long to keep trying after the trajectory ends
+     * @param translation the largest distance from the end
+     * @param heading the largest heading error, in radians
+     * @param timeoutSeconds how long past the end of the trajectory to keep correcting
+     */
+    public void setTolerances(double translation, double heading, double timeoutSeconds) {
+        this.translationTolerance = translation;
+        this.headingTolerance = heading;
+        this.timeout = timeoutSeconds;
+    }
+
+    /**
+     * Starts following a trajectory, with the clock starting now
+     * @param trajectory the trajectory to follow
+     */
+    public void follow(Trajectory trajectory) {
+        follow(trajectory, System.nanoTime());
+    }
+
+    /**
+     * Starts following a trajectory
+     * @param trajectory the trajectory to follow
+     * @param nanos the time to start the clock at, in nanoseconds, on the same clock as {@link HolonomicFollower#update(Pose2d, long)}
+     */
+    public void follow(Trajectory trajectory, long nanos) {
+        this.trajectory = trajectory;
+        this.startTime = nanos;
+        this.lastTime = startTime;
+        this.following = true;
+        integralX = integralY = integralHeading = 0;
+        lastErrorX = lastErrorY = lastErrorHeading = 0;
+        maxTranslationError = 0;
+        sumSquaredError = 0;
+        errorSamples = 0;
+    }
+
+    /**
+     * Drives toward where the robot should be now. Call once per loop while following.
+     * @param pose where the robot is, in the field's frame
+     * @return whether it is still following; false once it has reached the end or run out of time
+     */
+    public boolean update(Pose2d pose) {
+        return update(pose, System.nanoTime());
+    }
+
+    /**
+     * Drives toward where the robot should be at a given time
+     * @param pose where the robot is, in the field's frame
+     * @param now the time, in nanoseconds, on the same clock as {@link HolonomicFollower#follow(Trajectory, long)}
+     * @return whether it is still following; false once it has reached the end or run out of time
+     */
+    public boolean update(Pose2d pose, long now) {
+        if (!following) {
+            return false;
+        }
+        double time = (now - startTime) * 1e-9;
+        double dt = (now - lastTime) * 1e-9;
+        lastTime = now;
+        double duration = trajectory.getDuration();
+        trajectory.get(time, target);
+
+        double errorX = target.x - pose.x;
+        double errorY = target.y - pose.y;
+        double errorHeading = Angle.difference(pose.heading, target.heading);
+        recordError(pose, errorX, errorY, errorHeading);
+
+        if (time >= duration) {
+            boolean close = Math.hypot(errorX, errorY) <= translationTolerance && Math.abs(errorHeading) <= headingTolerance;
+            if (close || time >= duration + timeout) {
+                stop();
+                return false;
+            }
+        }
+
+        double vx;
+        double vy;
+        if (mode == Mode.PURE_PURSUIT && time < duration) {
+            double closest = trajectory.project(pose.x, pose.y, time - 0.5, time + 0.5);
+            trajectory.getAtDistance(closest + lookahead, pursuit);
+            double dx = pursuit.x - pose.x;
+            double dy = pursuit.y - pose.y;
+            double distance = Math.hypot(dx, dy);
+            // Catch up on (or wait for) the trajectory's clock along the path
+            double speed = Math.max(0, target.velocity + translationP * (target.distance - closest));
+            vx = distance > 1e-9 ? dx / distance * speed : 0;
+            vy = distance > 1e-9 ? dy / distance * speed : 0;
+        } else {
+            integralX += errorX * dt;
+            integralY += errorY * dt;
+            vx = target.vx + translationFeedback(errorX, lastErrorX, integralX, dt);
+            vy = target.vy + translationFeedback(errorY, lastErrorY, integralY, dt);
+        }
+        double omega = target.omega + headingP * errorHeading + headingI * integralHeading
+                + (dt > 0 ? headingD * (errorHeading - lastErrorHeading) / dt : 0);
+        integralHeading += errorHeading * dt;
+        lastErrorX = errorX;
+        lastErrorY = errorY;
+        lastErrorHeading = errorHeading;
+
+        setWheels(pose.heading, vx, vy, omega, target.ax, target.ay);
+        return true;
+    }
+
+    private double translationFeedback(double error, double lastError, double integral, double dt) {
+        return translationP * error + translationI * integral + (dt > 0 ? translationD * (error - lastError) / dt : 0);
+    }
+
+    /**
+     * Turns a field-relative velocity and acceleration into wheel powers
+     */
+    private void setWheels(double heading, double vx, double vy, double omega, double ax, double ay) {
+        // The robot's x axis (complexDrive's angle 0) points a quarter turn clockwise of the way it faces
+        double frame = heading - Math.PI / 2;
+        double cos = Math.cos(frame);
+        double sin = Math.sin(frame);
+        double robotVx = vx * cos + vy * sin;
+        double robotVy = -vx * sin + vy * cos;
+        double robotAx = ax * cos + ay * sin;
+        double robotAy = -ax * sin + ay * cos;
+
+        // Same wheel order and signs as complexDrive: majors carry x + y, minors x - y, and turning adds to the first of each pair
+        double major1 = power(robotVx + robotVy + k * omega, robotAx + robotAy);
+        double minor1 = power(robotVx - robotVy + k * omega, robotAx - robotAy);
+        double minor2 = power(robotVx - robotVy - k * omega, robotAx - robotAy);
+        double major2 = power(robotVx + robotVy - k * omega, robotAx + robotAy);
+
+        double max = Math.max(Math.max(Math.abs(major1), Math.abs(minor1)), Math.max(Math.abs(minor2), Math.abs(major2)));
+        if (max > 1) {
+            major1 /= max;
+            minor1 /= max;
+            minor2 /= max;
+            major2 /= max;
+        }
+        drive.setWheelPowers(major1, minor1, minor2, major2);
+    }
+
+    private double power(double velocity, double acceleration) {
+        double power = kV * velocity + kA * acceleration;
+        if (Math.abs(velocity) > 1e-6) {
+            power += Math.signum(velocity) * kS;
+        }
+        return power;
+    }
+
+    private void recordError(Pose2d pose, double errorX, double errorY, double errorHeading) {
+        double cos = Math.cos(pose.heading);
+        double sin = Math.sin(pose.heading);
+        error.set(errorX * cos + errorY * sin, -errorX * sin + errorY * cos, errorHeading);
+        double translation = Math.hypot(errorX, errorY);
+        maxTranslationError = Math.max(maxTranslationError, translation);
+        sumSquaredError += translation * translation;
+        errorSamples++;
+    }
+
+    /**
+     * Stops following and stops the drive
+     */
+    public void stop() {
+        following = false;
+        drive.stopMoving();
+    }
+
+    public boolean isFollowing() {
+        return following;
+    }
+
+    /**
+     * @param result where to put the tracking error from the last update, in the robot's frame: forward, sideways and heading
+     * @return result
+     */
+    public Pose2d getError(Pose2d result) {
+        return result.set(error);
+    }
+
+    /**
+     * @return the distance from where the robot should have been, as of the last update
+     */
+    public double getTranslationError() {
+        return Math.hypot(error.x, error.y);
+    }
+
+    /**
+     * @return the heading error as of the last update, in radians
+     */
+    public double getHeadingError() {
+        return error.heading;
+    }
+
+    /**
+     * @return the largest distance from where the robot should have been, since following started
+     */
+    public double getMaxTranslationError() {
+        return maxTranslationError;
+    }
+
+    /**
+     * @return the root mean square distance from where the robot should have been, since following started
+     */
+    public double getRmsTranslationError() {
+        return errorSamples == 0 ? 0 : Math.sqrt(sumSquaredError / errorSamples);
+    }
+
+    /**
+     * @param result where to put where the robot should be as of the last update
+     * @return result
+     */
+    public Trajectory.State getTarget(Trajectory.State result) {
+        result.time = target.time;
+        result.distance = target.distance;
+        result.x = target.x;
+        result.y = target.y;
+        result.heading = target.heading;
+        result.vx = target.vx;
+        result.vy = target.vy;
+        result.omega = target.omega;
+        result.ax = target.ax;
+        result.ay = target.ay;
+        result.velocity = target.velocity;
+        result.acceleration = target.acceleration;
+        return result;
+    }
+}
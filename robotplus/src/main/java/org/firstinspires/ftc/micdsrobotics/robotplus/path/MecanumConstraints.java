@@ -0,0 +1,75 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.path;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.hardware.Motor;
+
+/**
+ * How fast a mecanum drive can go, in terms of its wheels. A mecanum wheel's surface speed is
+ * |forward| + |strafe| + k * |turn rate|, where k is half the track width plus half the wheelbase,
+ * so a diagonal or a turn uses up the same wheel speed as a faster straight line. Limiting each wheel,
+ * rather than the chassis, lets the robot go as fast as it can in every direction.
+ * <p>
+ * Lengths are in whatever unit the {@link Path} is in (i.e. inches), and time is in seconds.
+ * @since 10/19/26
+ */
+public class MecanumConstraints {
+
+    /**
+     * the fastest a wheel's surface may go
+     */
+    public final double maxWheelVelocity;
+
+    /**
+     * the fastest a wheel's surface may speed up or slow down
+     */
+    public final double maxWheelAcceleration;
+
+    /**
+     * the most sideways acceleration allowed on curves, so the rollers don't slide
+     */
+    public final double maxCentripetalAcceleration;
+
+    /**
+     * half the track width plus half the wheelbase: the wheel speed per radian per second of turning
+     */
+    public final double k;
+
+    public MecanumConstraints(double maxWheelVelocity, double maxWheelAcceleration,
+                              double maxCentripetalAcceleration, double k) {
+        this.maxWheelVelocity = maxWheelVelocity;
+        this.maxWheelAcceleration = maxWheelAcceleration;
+        this.maxCentripetalAcceleration = maxCentripetalAcceleration;
+        this.k = k;
+    }
+
+    /**
+     * Works out the wheel speed limit from the motor's free speed
+     * @param motor the drive motor
+     * @param wheelRadius the wheel radius
+     * @param gearRatio wheel turns per motor output turn
+     * @param speedFraction how much of the free speed to plan for, i.e. 0.8, leaving the rest for the feedback to catch up with
+     * @param maxWheelAcceleration the fastest a wheel's surface may speed up or slow down
+     * @param maxCentripetalAcceleration the most sideways acceleration allowed on curves
+     * @param trackWidth the distance between the left and right wheels
+     * @param wheelbase the distance between the front and back wheels
+     * @return the constraints
+     */
+    public static MecanumConstraints fromMotor(Motor motor, double wheelRadius, double gearRatio, double speedFraction,
+                                               double maxWheelAcceleration, double maxCentripetalAcceleration,
+                                               double trackWidth, double wheelbase) {
+        double maxWheelVelocity = motor.getFreeSpeed() / 60 * gearRatio * 2 * Math.PI * wheelRadius * speedFraction;
+        return new MecanumConstraints(maxWheelVelocity, maxWheelAcceleration, maxCentripetalAcceleration,
+                (trackWidth + wheelbase) / 2);
+    }
+
+    /**
+     * Finds how much wheel speed each unit of path speed costs at a point on the path
+     * @param tangent the direction of travel, in radians
+     * @param heading the way the robot faces, in radians
+     * @param headingRate the change in heading per unit of distance
+     * @return the fastest wheel's speed per unit of path speed
+     */
+    public double wheelSpeedPerPathSpeed(double tangent, double heading, double headingRate) {
+        double relative = tangent - heading;
+        return Math.abs(Math.cos(relative)) + Math.abs(Math.sin(relative)) + k * Math.abs(headingRate);
+    }
+}
@@ -0,0 +1,191 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.path;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Angle;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Pose2d;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Vector2d;
+
+/**
+ * A path, sampled by distance traveled along it. Everything is worked out once when the path is
+ * built (see {@link PathBuilder}), into tables spaced evenly by arc length; looking up a distance
+ * is then an index and a linear interpolation between two table entries, with no integration and
+ * no allocation.
+ * <p>
+ * The tangent is the direction of travel. The heading is the way the robot faces, which for a
+ * holonomic drive doesn't have to be the tangent.
+ * @since 10/19/26
+ */
+public class Path {
+
+    private final double length;
+
+    /**
+     * the arc length between table entries
+     */
+    private final double spacing;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] tangent;
+    private final double[] heading;
+
+    /**
+     * the change in heading per unit of arc length
+     */
+    private final double[] headingRate;
+    private final double[] curvature;
+
+    /**
+     * whether each table entry is where the direction of travel jumps, so the robot has to stop there
+     */
+    private final boolean[] corner;
+
+    Path(double length, double spacing, double[] x, double[] y, double[] tangent,
+         double[] heading, double[] headingRate, double[] curvature, boolean[] corner) {
+        this.length = length;
+        this.spacing = spacing;
+        this.x = x;
+        this.y = y;
+        this.tangent = tangent;
+        this.heading = heading;
+        this.headingRate = headingRate;
+        this.curvature = curvature;
+        this.corner = corner;
+    }
+
+    /**
+     * @return the length of the path
+     */
+    public double getLength() {
+        return length;
+    }
+
+    /**
+     * @return the arc length between table entries
+     */
+    public double getSpacing() {
+        return spacing;
+    }
+
+    /**
+     * @return the number of table entries
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Finds the table entry at or before a distance, clamped to the path
+     */
+    private int index(double s) {
+        int i = (int) (s / spacing);
+        return Math.max(0, Math.min(x.length - 2, i));
+    }
+
+    /**
+     * @return how far a distance is between its entry and the next one, from 0 to 1
+     */
+    private double fraction(double s, int i) {
+        double f = s / spacing - i;
+        return Math.max(0, Math.min(1, f));
+    }
+
+    private static double lerp(double[] table, int i, double f) {
+        return table[i] + (table[i + 1] - table[i]) * f;
+    }
+
+    private static double lerpAngle(double[] table, int i, double f) {
+        return Angle.normalize(table[i] + Angle.difference(table[i], table[i + 1]) * f);
+    }
+
+    /**
+     * @param s the distance along the path
+     * @param result where to put the position
+     * @return result
+     */
+    public Vector2d getPoint(double s, Vector2d result) {
+        int i = index(s);
+        double f = fraction(s, i);
+        return result.set(lerp(x, i, f), lerp(y, i, f));
+    }
+
+    /**
+     * @param s the distance along the path
+     * @param result where to put the position and heading
+     * @return result
+     */
+    public Pose2d getPose(double s, Pose2d result) {
+        int i = index(s);
+        double f = fraction(s, i);
+        return result.set(lerp(x, i, f), lerp(y, i, f), lerpAngle(heading, i, f));
+    }
+
+    /**
+     * @param s the distance along the path
+     * @return the direction of travel, in radians
+     */
+    public double getTangent(double s) {
+        int i = index(s);
+        return lerpAngle(tangent, i, fraction(s, i));
+    }
+
+    /**
+     * @param s the distance along the path
+     * @return the way the robot faces, in radians
+     */
+    public double getHeading(double s) {
+        int i = index(s);
+        return lerpAngle(heading, i, fraction(s, i));
+    }
+
+    /**
+     * @param s the distance along the path
+     * @return the change in heading per unit of distance
+     */
+    public double getHeadingRate(double s) {
+        int i = index(s);
+        return lerp(headingRate, i, fraction(s, i));
+    }
+
+    /**
+     * @param s the distance along the path
+     * @return the curvature (1 / turning radius), positive when turning counterclockwise
+     */
+    public double getCurvature(double s) {
+        int i = index(s);
+        return lerp(curvature, i, fraction(s, i));
+    }
+
+    /**
+     * @param i the table entry, from 0 to {@link Path#size()} - 1
+     * @return whether the direction of travel jumps at that entry, i.e. where a
+     * {@link PathBuilder#lineTo} meets a segment that arrived from another direction
+     */
+    public boolean isCorner(int i) {
+        return corner[i];
+    }
+
+    /**
+     * Finds the distance along the path of the table entry closest to a point, i.e. for pure pursuit.
+     * Only entries between two distances are checked, so the search can start from where the robot was last.
+     * @param point the point
+     * @param from the distance to start searching at
+     * @param to the distance to stop searching at
+     * @return the distance along the path closest to the point
+     */
+    public double project(Vector2d point, double from, double to) {
+        int start = index(Math.max(0, from));
+        int end = Math.min(x.length - 1, (int) Math.ceil(Math.min(length, to) / spacing));
+        int best = start;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int i = start; i <= end; i++) {
+            double dx = x[i] - point.x;
+            double dy = y[i] - point.y;
+            double distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return Math.min(length, best * spacing);
+    }
+}
@@ -0,0 +1,264 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.path;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Angle;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Pose2d;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Vector2d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a {@link Path} out of {@link QuinticSpline} segments, one waypoint at a time. Build paths
+ * in init; building integrates the arc length and fills the lookup tables, which is the slow part.
+ * <pre>
+ *     Path path = new PathBuilder(new Pose2d(0, 0, 0))
+ *             .splineTo(24, 24, Math.PI / 2)
+ *             .lineTo(24, 48)
+ *             .build();
+ * </pre>
+ * Each segment leaves its waypoint in the direction given (the tangent), and the second derivative
+ * is zero at every waypoint, so segments join with matching heading and curvature. The one exception
+ * is a {@link PathBuilder#lineTo} that doesn't leave in the direction the last segment arrived: that
+ * makes a corner, and the robot comes to a stop there (see {@link Path#isCorner(int)}).
+ * @since 10/19/26
+ */
+public class PathBuilder {
+
+    /**
+     * the default arc length between table entries, in whatever unit the waypoints are in
+     */
+    public static final double DEFAULT_SPACING = 0.25;
+
+    /**
+     * how far apart, in radians, two tangents can be and still count as the same direction
+     */
+    private static final double CORNER_TOLERANCE = 1e-6;
+
+    /**
+     * how many pieces each segment is cut into to measure its arc length
+     */
+    private static final int INTEGRATION_STEPS = 1000;
+
+    private final List<QuinticSpline> segments = new ArrayList<>();
+
+    /**
+     * the heading at the start of each segment, then at the end of the last one
+     */
+    private final List<Double> headings = new ArrayList<>();
+
+    /**
+     * whether each segment's heading follows the tangent instead of turning evenly from one heading to the next
+     */
+    private final List<Boolean> followTangent = new ArrayList<>();
+
+    /**
+     * whether each segment starts at a corner, i.e. leaves in a different direction than the last one arrived
+     */
+    private final List<Boolean> corners = new ArrayList<>();
+
+    private final Vector2d position;
+    private double tangent;
+    private double heading;
+
+    /**
+     * a hash of everything that shapes the path, for {@link TrajectoryCache}
+     */
+    private long key = TrajectoryCache.HASH_SEED;
+
+    /**
+     * Starts a path
+     * @param start where the path starts; its heading is both the direction of travel and the way the robot faces
+     */
+    public PathBuilder(Pose2d start) {
+        this(start, start.heading);
+    }
+
+    /**
+     * Starts a path
+     * @param start where the path starts, and the way the robot faces
+     * @param startTangent the direction of travel at the start, in radians
+     */
+    public PathBuilder(Pose2d start, double startTangent) {
+        this.position = new Vector2d(start.x, start.y);
+        this.tangent = startTangent;
+        this.heading = start.heading;
+        headings.add(heading);
+        addToKey(start.x, start.y, startTangent, start.heading);
+    }
+
+    /**
+     * Adds a curved segment whose heading follows the direction of travel
+     * @param x the x of the waypoint
+     * @param y the y of the waypoint
+     * @param endTangent the direction of travel at the waypoint, in radians
+     * @return this builder
+     */
+    public PathBuilder splineTo(double x, double y, double endTangent) {
+        return add(x, y, tangent, endTangent, endTangent, true);
+    }
+
+    /**
+     * Adds a curved segment, turning the robot evenly to a heading along the way (for a holonomic drive)
+     * @param x the x of the waypoint
+     * @param y the y of the waypoint
+     * @param endTangent the direction of travel at the waypoint, in radians
+     * @param endHeading the way the robot should face at the waypoint, in radians
+     * @return this builder
+     */
+    public PathBuilder splineTo(double x, double y, double endTangent, double endHeading) {
+        return add(x, y, tangent, endTangent, endHeading, false);
+    }
+
+    /**
+     * Adds a straight segment, keeping the robot facing the way it does now
+     * @param x the x of the waypoint
+     * @param y the y of the waypoint
+     * @return this builder
+     */
+    public PathBuilder lineTo(double x, double y) {
+        return lineTo(x, y, heading);
+    }
+
+    /**
+     * Adds a straight segment, turning the robot evenly to a heading along the way (for a holonomic drive).
+     * If the line doesn't leave in the direction the last segment arrived, the robot stops at the corner.
+     * @param x the x of the waypoint
+     * @param y the y of the waypoint
+     * @param endHeading the way the robot should face at the waypoint, in radians
+     * @return this builder
+     */
+    public PathBuilder lineTo(double x, double y, double endHeading) {
+        double direction = Math.atan2(y - position.y, x - position.x);
+        // A straight line leaves and arrives in the same direction
+        return add(x, y, direction, direction, endHeading, false);
+    }
+
+    private PathBuilder add(double x, double y, double startTangent, double endTangent, double endHeading, boolean follow) {
+        Vector2d end = new Vector2d(x, y);
+        double distance = position.distanceTo(end);
+        if (distance < 1e-9) {
+            throw new IllegalArgumentException("a waypoint can't be where the last one was");
+        }
+        // Derivatives as long as the segment keep the curve from bunching up or looping
+        segments.add(new QuinticSpline(position, Vector2d.polar(distance, startTangent), new Vector2d(),
+                end, Vector2d.polar(distance, endTangent), new Vector2d()));
+        followTangent.add(follow);
+        corners.add(segments.size() > 1 && Math.abs(Angle.difference(tangent, startTangent)) > CORNER_TOLERANCE);
+        addToKey(x, y, endTangent, endHeading, follow ? 1 : 0);
+
+        position.set(end);
+        tangent = endTangent;
+        heading = endHeading;
+        headings.add(heading);
+        return this;
+    }
+
+    private void addToKey(double... values) {
+        for (double value : values) {
+            key = TrajectoryCache.hash(key, value);
+        }
+    }
+
+    /**
+     * @return a hash of the waypoints so far; two builders with the same waypoints have the same key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Builds the path with the default table spacing
+     * @return the path
+     */
+    public Path build() {
+        return build(DEFAULT_SPACING);
+    }
+
+    /**
+     * Builds the path
+     * @param spacing the arc length between table entries; smaller is more accurate but uses more memory
+     * @return the path
+     */
+    public Path build(double spacing) {
+        if (segments.isEmpty()) {
+            throw new IllegalStateException("a path needs at least one segment");
+        }
+        int count = segments.size();
+
+        // Arc length at each integration step of each segment
+        double[][] lengths = new double[count][INTEGRATION_STEPS + 1];
+        double[] segmentStarts = new double[count + 1];
+        Vector2d last = new Vector2d();
+        Vector2d point = new Vector2d();
+        for (int i = 0; i < count; i++) {
+            QuinticSpline segment = segments.get(i);
+            segment.getPoint(0, last);
+            for (int step = 1; step <= INTEGRATION_STEPS; step++) {
+                segment.getPoint((double) step / INTEGRATION_STEPS, point);
+                lengths[i][step] = lengths[i][step - 1] + point.distanceTo(last);
+                last.set(point);
+            }
+            segmentStarts[i + 1] = segmentStarts[i] + lengths[i][INTEGRATION_STEPS];
+        }
+        double length = segmentStarts[count];
+
+        int size = (int) Math.ceil(length / spacing) + 1;
+        // Shrink the spacing a little so the last entry lands exactly on the end
+        spacing = length / (size - 1);
+        double[] x = new double[size];
+        double[] y = new double[size];
+        double[] tangents = new double[size];
+        double[] headingTable = new double[size];
+        double[] headingRate = new double[size];
+        double[] curvature = new double[size];
+        boolean[] cornerTable = new boolean[size];
+        for (int i = 1; i < count; i++) {
+            if (corners.get(i)) {
+                cornerTable[(int) Math.round(segmentStarts[i] / spacing)] = true;
+            }
+        }
+
+        int segmentIndex = 0;
+        int step = 0;
+        for (int k = 0; k < size; k++) {
+            double s = k * spacing;
+            while (segmentIndex < count - 1 && s > segmentStarts[segmentIndex + 1]) {
+                segmentIndex++;
+                step = 0;
+            }
+            double local = s - segmentStarts[segmentIndex];
+            double[] table = lengths[segmentIndex];
+            while (step < INTEGRATION_STEPS - 1 && table[step + 1] < local) {
+                step++;
+            }
+            double span = table[step + 1] - table[step];
+            double within = span > 0 ? (local - table[step]) / span : 0;
+            double t = Math.max(0, Math.min(1, (step + within) / INTEGRATION_STEPS));
+
+            QuinticSpline segment = segments.get(segmentIndex);
+            segment.getPoint(t, point);
+            x[k] = point.x;
+            y[k] = point.y;
+            tangents[k] = segment.getTangent(t);
+            curvature[k] = segment.getCurvature(t);
+
+            if (followTangent.get(segmentIndex)) {
+                headingTable[k] = tangents[k];
+            } else {
+                double segmentLength = segmentStarts[segmentIndex + 1] - segmentStarts[segmentIndex];
+                double startHeading = headings.get(segmentIndex);
+                double turn = Angle.difference(startHeading, headings.get(segmentIndex + 1));
+                headingTable[k] = Angle.normalize(startHeading + turn * local / segmentLength);
+            }
+        }
+
+        for (int k = 0; k < size; k++) {
+            int before = Math.max(0, k - 1);
+            int after = Math.min(size - 1, k + 1);
+            double ds = (after - before) * spacing;
+            headingRate[k] = ds > 0 ? Angle.difference(headingTable[before], headingTable[after]) / ds : 0;
+        }
+
+        return new Path(length, spacing, x, y, tangents, headingTable, headingRate, curvature, cornerTable);
+    }
+}
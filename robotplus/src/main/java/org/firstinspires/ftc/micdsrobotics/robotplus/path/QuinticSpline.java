@@ -0,0 +1,106 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.path;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Vector2d;
+
+/**
+ * One quintic Hermite spline segment in the plane, from t = 0 to t = 1. It is pinned down by the
+ * position, first derivative and second derivative at each end, so segments that agree at their
+ * ends join without a jump in heading or curvature.
+ * @since 10/19/26
+ */
+public class QuinticSpline {
+
+    /**
+     * polynomial coefficients, lowest power first
+     */
+    private final double[] x = new double[6];
+    private final double[] y = new double[6];
+
+    /**
+     * Creates a segment
+     * @param start the start position
+     * @param startVelocity the first derivative at the start
+     * @param startAcceleration the second derivative at the start
+     * @param end the end position
+     * @param endVelocity the first derivative at the end
+     * @param endAcceleration the second derivative at the end
+     */
+    public QuinticSpline(Vector2d start, Vector2d startVelocity, Vector2d startAcceleration,
+                         Vector2d end, Vector2d endVelocity, Vector2d endAcceleration) {
+        fit(x, start.x, startVelocity.x, startAcceleration.x, end.x, endVelocity.x, endAcceleration.x);
+        fit(y, start.y, startVelocity.y, startAcceleration.y, end.y, endVelocity.y, endAcceleration.y);
+    }
+
+    /**
+     * Expands the Hermite basis into polynomial coefficients
+     */
+    private static void fit(double[] c, double p0, double v0, double a0, double p1, double v1, double a1) {
+        c[0] = p0;
+        c[1] = v0;
+        c[2] = a0 / 2;
+        c[3] = -10 * p0 - 6 * v0 - 1.5 * a0 + 0.5 * a1 - 4 * v1 + 10 * p1;
+        c[4] = 15 * p0 + 8 * v0 + 1.5 * a0 - a1 + 7 * v1 - 15 * p1;
+        c[5] = -6 * p0 - 3 * v0 - 0.5 * a0 + 0.5 * a1 - 3 * v1 + 6 * p1;
+    }
+
+    private static double value(double[] c, double t) {
+        return c[0] + t * (c[1] + t * (c[2] + t * (c[3] + t * (c[4] + t * c[5]))));
+    }
+
+    private static double derivative(double[] c, double t) {
+        return c[1] + t * (2 * c[2] + t * (3 * c[3] + t * (4 * c[4] + t * 5 * c[5])));
+    }
+
+    private static double secondDerivative(double[] c, double t) {
+        return 2 * c[2] + t * (6 * c[3] + t * (12 * c[4] + t * 20 * c[5]));
+    }
+
+    /**
+     * @param t where on the segment, from 0 to 1
+     * @param result where to put the position
+     * @return result
+     */
+    public Vector2d getPoint(double t, Vector2d result) {
+        return result.set(value(x, t), value(y, t));
+    }
+
+    /**
+     * @param t where on the segment, from 0 to 1
+     * @param result where to put the first derivative
+     * @return result
+     */
+    public Vector2d getDerivative(double t, Vector2d result) {
+        return result.set(derivative(x, t), derivative(y, t));
+    }
+
+    /**
+     * @param t where on the segment, from 0 to 1
+     * @param result where to put the second derivative
+     * @return result
+     */
+    public Vector2d getSecondDerivative(double t, Vector2d result) {
+        return result.set(secondDerivative(x, t), secondDerivative(y, t));
+    }
+
+    /**
+     * @param t where on the segment, from 0 to 1
+     * @return the direction of travel, in radians
+     */
+    public double getTangent(double t) {
+        return Math.atan2(derivative(y, t), derivative(x, t));
+    }
+
+    /**
+     * @param t where on the segment, from 0 to 1
+     * @return the curvature (1 / turning radius), positive when turning counterclockwise
+     */
+    public double getCurvature(double t) {
+        double dx = derivative(x, t);
+        double dy = derivative(y, t);
+        double speed = Math.sqrt(dx * dx + dy * dy);
+        if (speed < 1e-12) {
+            return 0;
+        }
+        return (dx * secondDerivative(y, t) - dy * secondDerivative(x, t)) / (speed * speed * speed);
+    }
+}
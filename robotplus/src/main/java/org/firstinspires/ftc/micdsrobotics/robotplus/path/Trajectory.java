@@ -0,0 +1,250 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.path;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Angle;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Pose2d;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * A path with a time for every point on it, sampled at an even time step into a table of doubles.
+ * Looking up a time is an index and a linear interpolation, and doesn't allocate.
+ * Make one with {@link TrajectoryGenerator}.
+ * @since 10/19/26
+ */
+public class Trajectory {
+
+    /**
+     * Where the robot should be at one time on a trajectory, and how it should be moving.
+     * Velocities and accelerations are in the field's frame.
+     */
+    public static class State {
+        public double time;
+        public double distance;
+        public double x;
+        public double y;
+        public double heading;
+
+        public double vx;
+        public double vy;
+
+        /**
+         * the turn rate, in radians per second
+         */
+        public double omega;
+
+        public double ax;
+        public double ay;
+
+        /**
+         * the speed along the path
+         */
+        public double velocity;
+
+        /**
+         * the acceleration along the path
+         */
+        public double acceleration;
+
+        /**
+         * @param result where to put the position and heading
+         * @return result
+         */
+        public Pose2d getPose(Pose2d result) {
+            return result.set(x, y, heading);
+        }
+    }
+
+    // Columns of the sample table, in the order they are stored
+    static final int DISTANCE = 0;
+    static final int X = 1;
+    static final int Y = 2;
+    static final int HEADING = 3;
+    static final int TANGENT = 4;
+    static final int HEADING_RATE = 5;
+    static final int CURVATURE = 6;
+    static final int VELOCITY = 7;
+    static final int ACCELERATION = 8;
+    static final int COLUMNS = 9;
+
+    final double dt;
+
+    /**
+     * when the last sample is, which is up to one time step sooner than the even spacing would put it
+     */
+    final double duration;
+    final int size;
+
+    /**
+     * every column, one after another, each size samples long. Either an array or a mapped
+     * file ({@link TrajectoryCache}); the lookups work the same either way.
+     */
+    final DoubleBuffer data;
+
+    Trajectory(double dt, double duration, double[] distance, double[] x, double[] y, double[] heading, double[] tangent,
+               double[] headingRate, double[] curvature, double[] velocity, double[] acceleration) {
+        this.dt = dt;
+        this.duration = duration;
+        this.size = x.length;
+        double[] table = new double[COLUMNS * size];
+        double[][] columns = {distance, x, y, heading, tangent, headingRate, curvature, velocity, acceleration};
+        for (int column = 0; column < COLUMNS; column++) {
+            System.arraycopy(columns[column], 0, table, column * size, size);
+        }
+        this.data = DoubleBuffer.wrap(table);
+    }
+
+    Trajectory(double dt, double duration, int size, DoubleBuffer data) {
+        this.dt = dt;
+        this.duration = duration;
+        this.size = size;
+        this.data = data;
+    }
+
+    private double value(int column, int i) {
+        return data.get(column * size + i);
+    }
+
+    /**
+     * @return the time of a sample, in seconds; every sample is a time step after the last except the final one
+     */
+    private double sampleTime(int i) {
+        return i == size - 1 ? duration : i * dt;
+    }
+
+    /**
+     * @return how long the trajectory takes, in seconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the time between samples, in seconds
+     */
+    public double getTimeStep() {
+        return dt;
+    }
+
+    /**
+     * @return the number of samples
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the length of the path, in the path's units
+     */
+    public double getLength() {
+        return value(DISTANCE, size - 1);
+    }
+
+    /**
+     * Finds where the robot should be at a time. Times past either end give the ends: at the finish, the robot
+     * stands still if the trajectory ends stopped, and otherwise carries on at the final sample's speed.
+     * @param time the time since the trajectory started, in seconds
+     * @param result where to put the state
+     * @return result
+     */
+    public State get(double time, State result) {
+        int last = size - 1;
+        int i = Math.max(0, Math.min(last - 1, (int) (time / dt)));
+        int j = Math.min(last, i + 1);
+        double span = sampleTime(j) - sampleTime(i);
+        double f = span > 0 ? Math.max(0, Math.min(1, (time - sampleTime(i)) / span)) : 0;
+
+        // Past the end of a trajectory that ends stopped, the robot holds the final pose, so nothing should push it anywhere
+        boolean stopped = time >= duration && value(VELOCITY, last) == 0;
+        double t = lerp(TANGENT, i, j, f);
+        double v = stopped ? 0 : lerp(VELOCITY, i, j, f);
+        double a = stopped ? 0 : lerp(ACCELERATION, i, j, f);
+        double centripetal = v * v * lerp(CURVATURE, i, j, f);
+        double cos = Math.cos(t);
+        double sin = Math.sin(t);
+
+        result.time = Math.max(0, Math.min(duration, time));
+        result.distance = lerp(DISTANCE, i, j, f);
+        result.x = lerp(X, i, j, f);
+        result.y = lerp(Y, i, j, f);
+        double headingI = value(HEADING, i);
+        result.heading = Angle.normalize(headingI + Angle.difference(headingI, value(HEADING, j)) * f);
+        result.velocity = v;
+        result.acceleration = a;
+        result.vx = v * cos;
+        result.vy = v * sin;
+        result.omega = v * lerp(HEADING_RATE, i, j, f);
+        result.ax = a * cos - centripetal * sin;
+        result.ay = a * sin + centripetal * cos;
+        return result;
+    }
+
+    /**
+     * Finds where the robot should be when it has gone a distance along the path, i.e. for pure pursuit
+     * @param distance the distance along the path
+     * @param result where to put the state
+     * @return result
+     */
+    public State getAtDistance(double distance, State result) {
+        // The distance never decreases, so binary search for the last sample at or before it
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (value(DISTANCE, mid) <= distance) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        double time = sampleTime(low);
+        if (low < size - 1) {
+            double span = value(DISTANCE, low + 1) - value(DISTANCE, low);
+            double f = span > 0 ? Math.max(0, Math.min(1, (distance - value(DISTANCE, low)) / span)) : 0;
+            time += f * (sampleTime(low + 1) - time);
+        }
+        return get(time, result);
+    }
+
+    /**
+     * Finds the distance along the path of the sample closest to a point. Only samples between two
+     * times are checked, so the search stays near where the robot should be.
+     * @param x the x of the point
+     * @param y the y of the point
+     * @param from the time to start searching at, in seconds
+     * @param to the time to stop searching at, in seconds
+     * @return the distance along the path closest to the point
+     */
+    public double project(double x, double y, double from, double to) {
+        int last = size - 1;
+        int start = Math.max(0, Math.min(last, (int) (from / dt)));
+        int end = Math.max(start, Math.min(last, (int) Math.ceil(to / dt)));
+        int best = start;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int i = start; i <= end; i++) {
+            double dx = value(X, i) - x;
+            double dy = value(Y, i) - y;
+            double d = dx * dx + dy * dy;
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = i;
+            }
+        }
+        return value(DISTANCE, best);
+    }
+
+    private double lerp(int column, int i, int j, double f) {
+        double a = value(column, i);
+        return a + (value(column, j) - a) * f;
+    }
+
+    /**
+     * @return the fastest speed along the path anywhere on the trajectory
+     */
+    public double getMaxVelocity() {
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, value(VELOCITY, i));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,247 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.path;
+
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Keeps generated trajectories on disk so init doesn't have to build the same splines and
+ * profiles every run. Each trajectory is stored under a key that hashes everything it was made
+ * from (the waypoints, the constraints and the time step), so changing any of them makes a new
+ * file instead of loading a stale one.
+ * <p>
+ * Loading maps the file into memory rather than reading it, and the {@link Trajectory} reads its
+ * samples straight out of the mapping, so a load costs about as much as opening the file.
+ * <pre>
+ *     TrajectoryCache cache = new TrajectoryCache(TrajectoryCache.getDefaultDirectory());
+ *     Trajectory toDepot = cache.get(new PathBuilder(start).splineTo(24, 48, Math.PI / 2), constraints);
+ * </pre>
+ * @since 10/19/26
+ */
+public class TrajectoryCache {
+
+    /**
+     * Marks the start of a cached trajectory ("TRJ1")
+     */
+    private static final int MAGIC = 0x54524A31;
+
+    /**
+     * Bumped whenever the file layout or the generator changes, so old files are regenerated
+     */
+    private static final int VERSION = 3;
+
+    /**
+     * magic, version, key, time step, duration, sample count and column count
+     */
+    private static final int HEADER_BYTES = 40;
+
+    static final long HASH_SEED = 0xcbf29ce484222325L;
+    private static final long HASH_PRIME = 0x100000001b3L;
+
+    private final File directory;
+
+    /**
+     * @param directory the folder to keep cached trajectories in; it is created if needed
+     */
+    public TrajectoryCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return a trajectories folder in the robot controller's settings folder
+     */
+    public static File getDefaultDirectory() {
+        return AppUtil.getInstance().getSettingsFile("trajectories");
+    }
+
+    /**
+     * Mixes a value into a hash (64-bit FNV-1a over the value's bits)
+     * @param hash the hash so far
+     * @param value the value to mix in
+     * @return the new hash
+     */
+    static long hash(long hash, double value) {
+        long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            hash ^= (bits >>> (i * 8)) & 0xFF;
+            hash *= HASH_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Works out the key a trajectory is cached under
+     * @param builder the path's builder
+     * @param constraints the drive's limits
+     * @param startVelocity the speed along the path at the start
+     * @param endVelocity the speed along the path at the end
+     * @param timeStep the time between samples, in seconds
+     * @return the key
+     */
+    public static long key(PathBuilder builder, MecanumConstraints constraints,
+                           double startVelocity, double endVelocity, double timeStep) {
+        long key = builder.getKey();
+        double[] values = {VERSION, constraints.maxWheelVelocity, constraints.maxWheelAcceleration,
+                constraints.maxCentripetalAcceleration, constraints.k, startVelocity, endVelocity, timeStep};
+        for (double value : values) {
+            key = hash(key, value);
+        }
+        return key;
+    }
+
+    /**
+     * Gets a trajectory that starts and ends standing still, loading it if it is cached and
+     * generating and saving it if it isn't
+     * @param builder the path's builder
+     * @param constraints the drive's limits
+     * @return the trajectory
+     */
+    public Trajectory get(PathBuilder builder, MecanumConstraints constraints) {
+        return get(builder, constraints, 0, 0, TrajectoryGenerator.DEFAULT_TIME_STEP);
+    }
+
+    /**
+     * Gets a trajectory, loading it if it is cached and generating and saving it if it isn't.
+     * A cache that can't be read or written is logged and skipped, never fatal.
+     * @param builder the path's builder
+     * @param constraints the drive's limits
+     * @param startVelocity the speed along the path at the start
+     * @param endVelocity the speed along the path at the end
+     * @param timeStep the time between samples, in seconds
+     * @return the trajectory
+     */
+    public Trajectory get(PathBuilder builder, MecanumConstraints constraints,
+                          double startVelocity, double endVelocity, double timeStep) {
+        long key = key(builder, constraints, startVelocity, endVelocity, timeStep);
+        File file = getFile(key);
+        if (file.exists()) {
+            try {
+                return load(file, key);
+            } catch (IOException e) {
+                RobotLog.ww("TrajectoryCache", e, "regenerating %s", file.getName());
+            }
+        }
+
+        Trajectory trajectory = TrajectoryGenerator.generate(builder.build(), constraints, startVelocity, endVelocity, timeStep);
+        try {
+            save(trajectory, key);
+        } catch (IOException e) {
+            RobotLog.ww("TrajectoryCache", e, "unable to cache %s", file.getName());
+        }
+        return trajectory;
+    }
+
+    /**
+     * @param key the trajectory's key
+     * @return the file the trajectory is cached in
+     */
+    public File getFile(long key) {
+        return new File(directory, String.format("%016x.traj", key));
+    }
+
+    /**
+     * Saves a trajectory under a key. It is written to a temporary file first, so a run that dies
+     * halfway through never leaves a broken file behind.
+     * @param trajectory the trajectory
+     * @param key the key to save it under
+     * @throws IOException if the file can't be written
+     */
+    public void save(Trajectory trajectory, long key) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("unable to create " + directory);
+        }
+        File file = getFile(key);
+        File temporary = new File(directory, file.getName() + ".tmp");
+
+        // DataOutputStream writes big-endian, which is what load reads
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(key);
+            out.writeDouble(trajectory.dt);
+            out.writeDouble(trajectory.getDuration());
+            out.writeInt(trajectory.size);
+            out.writeInt(Trajectory.COLUMNS);
+            int count = Trajectory.COLUMNS * trajectory.size;
+            for (int i = 0; i < count; i++) {
+                out.writeDouble(trajectory.data.get(i));
+            }
+        } finally {
+            out.close();
+        }
+
+        if (!temporary.renameTo(file)) {
+            temporary.delete();
+            throw new IOException("unable to move " + temporary + " to " + file);
+        }
+    }
+
+    /**
+     * Loads a cached trajectory by mapping its file
+     * @param file the file
+     * @param key the key it should have been saved under
+     * @return the trajectory, reading from the mapped file
+     * @throws IOException if the file can't be read, or is from another version or key
+     */
+    public static Trajectory load(File file, long key) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException(file + " is too short");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a cached trajectory");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException(file + " is from another version");
+            }
+            if (buffer.getLong(8) != key) {
+                throw new IOException(file + " has the wrong key");
+            }
+            double dt = buffer.getDouble(16);
+            double duration = buffer.getDouble(24);
+            int size = buffer.getInt(32);
+            int columns = buffer.getInt(36);
+            if (columns != Trajectory.COLUMNS || size < 2 || !(dt > 0)
+                    || !(duration >= 0 && duration <= size * dt)
+                    || length != HEADER_BYTES + 8L * columns * size) {
+                throw new IOException(file + " is corrupt");
+            }
+
+            buffer.position(HEADER_BYTES);
+            return new Trajectory(dt, duration, size, buffer.slice().order(ByteOrder.BIG_ENDIAN).asDoubleBuffer());
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Deletes every cached trajectory
+     */
+    public void clear() {
+        File[] files = directory.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (file.getName().endsWith(".traj")) {
+                file.delete();
+            }
+        }
+    }
+}
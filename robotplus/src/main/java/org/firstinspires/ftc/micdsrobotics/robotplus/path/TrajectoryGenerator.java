@@ -0,0 +1,119 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.path;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Vector2d;
+
+/**
+ * Turns a {@link Path} into a {@link Trajectory} that goes as fast as the drive can along every part
+ * of it. The speed limit at each table entry of the path comes from the wheel speed limit, given
+ * the direction of travel, the heading and the turn rate, and from the centripetal limit on curves;
+ * it is zero at corners, where the direction of travel jumps and the robot has to stop to turn it.
+ * A forward pass then limits how fast the robot can speed up toward each limit, and a backward pass
+ * how fast it can slow down for the next one. The result is sampled at an even time step.
+ * @since 10/19/26
+ */
+public class TrajectoryGenerator {
+    private TrajectoryGenerator() { }
+
+    /**
+     * the default time between trajectory samples, in seconds
+     */
+    public static final double DEFAULT_TIME_STEP = 0.01;
+
+    /**
+     * Generates a trajectory that starts and ends standing still
+     * @param path the path to follow
+     * @param constraints the drive's limits
+     * @return the trajectory
+     */
+    public static Trajectory generate(Path path, MecanumConstraints constraints) {
+        return generate(path, constraints, 0, 0, DEFAULT_TIME_STEP);
+    }
+
+    /**
+     * Generates a trajectory
+     * @param path the path to follow
+     * @param constraints the drive's limits
+     * @param startVelocity the speed along the path at the start
+     * @param endVelocity the speed along the path at the end
+     * @param timeStep the time between samples, in seconds
+     * @return the trajectory
+     */
+    public static Trajectory generate(Path path, MecanumConstraints constraints,
+                                      double startVelocity, double endVelocity, double timeStep) {
+        int n = path.size();
+        double ds = path.getSpacing();
+        double[] limit = new double[n];
+        double[] maxAcceleration = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            double s = i * ds;
+            double cost = constraints.wheelSpeedPerPathSpeed(path.getTangent(s), path.getHeading(s), path.getHeadingRate(s));
+            limit[i] = constraints.maxWheelVelocity / cost;
+            double curvature = Math.abs(path.getCurvature(s));
+            if (curvature > 1e-9) {
+                limit[i] = Math.min(limit[i], Math.sqrt(constraints.maxCentripetalAcceleration / curvature));
+            }
+            if (path.isCorner(i)) {
+                limit[i] = 0;
+            }
+            maxAcceleration[i] = constraints.maxWheelAcceleration / cost;
+        }
+
+        double[] v = new double[n];
+        v[0] = Math.min(startVelocity, limit[0]);
+        for (int i = 1; i < n; i++) {
+            v[i] = Math.min(limit[i], Math.sqrt(v[i - 1] * v[i - 1] + 2 * maxAcceleration[i - 1] * ds));
+        }
+        v[n - 1] = Math.min(v[n - 1], endVelocity);
+        for (int i = n - 2; i >= 0; i--) {
+            v[i] = Math.min(v[i], Math.sqrt(v[i + 1] * v[i + 1] + 2 * maxAcceleration[i + 1] * ds));
+        }
+
+        // Time at each table entry, with constant acceleration between entries
+        double[] times = new double[n];
+        for (int i = 1; i < n; i++) {
+            double sum = v[i - 1] + v[i];
+            times[i] = times[i - 1] + (sum > 1e-9 ? 2 * ds / sum : Math.sqrt(2 * ds / maxAcceleration[i - 1]));
+        }
+
+        double duration = times[n - 1];
+        int samples = (int) Math.ceil(duration / timeStep) + 1;
+        double[] distance = new double[samples];
+        double[] x = new double[samples];
+        double[] y = new double[samples];
+        double[] heading = new double[samples];
+        double[] tangent = new double[samples];
+        double[] headingRate = new double[samples];
+        double[] curvature = new double[samples];
+        double[] velocity = new double[samples];
+        double[] acceleration = new double[samples];
+
+        Vector2d point = new Vector2d();
+        int i = 0;
+        for (int k = 0; k < samples; k++) {
+            double time = Math.min(duration, k * timeStep);
+            while (i < n - 2 && times[i + 1] <= time) {
+                i++;
+            }
+            double a = (v[i + 1] * v[i + 1] - v[i] * v[i]) / (2 * ds);
+            double tau = time - times[i];
+            double s = Math.min(path.getLength(), i * ds + v[i] * tau + 0.5 * a * tau * tau);
+
+            distance[k] = s;
+            path.getPoint(s, point);
+            x[k] = point.x;
+            y[k] = point.y;
+            heading[k] = path.getHeading(s);
+            tangent[k] = path.getTangent(s);
+            headingRate[k] = path.getHeadingRate(s);
+            curvature[k] = path.getCurvature(s);
+            velocity[k] = Math.max(0, v[i] + a * tau);
+            acceleration[k] = a;
+        }
+        velocity[samples - 1] = v[n - 1];
+        // The last segment's acceleration doesn't carry on past the end
+        acceleration[samples - 1] = 0;
+
+        return new Trajectory(timeStep, duration, distance, x, y, heading, tangent, headingRate, curvature, velocity, acceleration);
+    }
+}
@@ -10,46 +10,51 @@ import com.qualcomm.robotcore.hardware.Gamepad;
 public class AccessControl {
 
     /**
-     * Is Gamepad1 the primary driver?
-     * @see Gamepad
+     * Decides which gamepad is primary. Both gamepads have the same priority, so primary only changes hands on request.
      */
-    private boolean isG1Primary;
+    private final ResourceArbiter arbiter;
 
     /**
-     * Is Gamepad2 the primary driver?
-     * @see Gamepad
+     * The primary driver's seat; whoever owns it is primary
      */
-    private boolean isG2Primary;
+    private final ResourceArbiter.Resource primary;
 
-    /**
-     * Is one of the drivers requesting a change-up for primary driver?
-     */
-    private boolean isRequesting;
+    private final ResourceArbiter.Owner gamepad1;
+    private final ResourceArbiter.Owner gamepad2;
 
     /**
      * Default constructor
      */
     public AccessControl() {
-        isG1Primary = true;
-        isG2Primary = false;
-        isRequesting = false;
+        this(new ResourceArbiter());
     }
 
     /**
-     * Switches the primary driver to the other controller
+     * Creates access control that shares an arbiter with the rest of the robot, so the drivers are
+     * owners alongside everything else. Each AccessControl has its own primary driver's seat, so
+     * two of them on one arbiter don't fight over it.
+     * @param arbiter the robot's arbiter
+     * @throws IllegalStateException if gamepad1 can't be made primary
      */
-    public void changeAccess() {
-        if (isG1Primary) {
-            isG1Primary = false;
-            isG2Primary = true;
-            isRequesting = false;
+    public AccessControl(ResourceArbiter arbiter) {
+        this.arbiter = arbiter;
+        this.primary = arbiter.newResource("primary driver");
+        this.gamepad1 = arbiter.newOwner("gamepad1", 0);
+        this.gamepad2 = arbiter.newOwner("gamepad2", 0);
+        if (!arbiter.tryClaim(primary, gamepad1)) {
+            throw new IllegalStateException("gamepad1 couldn't claim " + primary);
         }
+    }
 
-        else if (isG2Primary) {
-            isG2Primary = false;
-            isG1Primary = true;
-            isRequesting = false;
+    /**
+     * Switches the primary driver to the other controller
+     */
+    public void changeAccess() {
+        if (!arbiter.transfer(primary, gamepad1, gamepad2)) {
+            arbiter.transfer(primary, gamepad2, gamepad1);
         }
+        arbiter.cancelRequest(primary, gamepad1);
+        arbiter.cancelRequest(primary, gamepad2);
     }
 
     /**
@@ -57,7 +62,7 @@ public class AccessControl {
      * @return if G1 is primary or not
      */
     public boolean isG1Primary() {
-        return isG1Primary;
+        return arbiter.isOwner(primary, gamepad1);
     }
 
     /**
@@ -65,7 +70,7 @@ public class AccessControl {
      * @return if G2 is primary or not
      */
     public boolean isG2Primary() {
-        return isG2Primary;
+        return arbiter.isOwner(primary, gamepad2);
     }
 
     /**
@@ -74,31 +79,71 @@ public class AccessControl {
      * @return if one of the drivers is requesting an accesschange
      */
     public boolean isRequesting() {
-        return isRequesting;
+        return arbiter.getRequester(primary) != null;
     }
 
     /**
-     * Mutator for the status of the G1 controller
+     * Mutator for the status of the G1 controller. Exactly one controller is always primary, so
+     * making G1 not primary makes G2 primary.
      * @param g1Primary the new status of the G1 controller
      */
     public void setG1Primary(boolean g1Primary) {
-        isG1Primary = g1Primary;
+        if (g1Primary) {
+            arbiter.transfer(primary, gamepad2, gamepad1);
+        } else {
+            arbiter.transfer(primary, gamepad1, gamepad2);
+        }
     }
 
     /**
-     * Mutator for the status of if a driver is requesting and accesschange
+     * Mutator for the status of if a driver is requesting and accesschange. The controller that isn't
+     * primary is the one requesting; {@link AccessControl#changeAccess()} answers the request.
      * @param requesting
      */
     public void setRequesting(boolean requesting) {
-        isRequesting = requesting;
+        if (requesting) {
+            arbiter.requestHandoff(primary, isG1Primary() ? gamepad2 : gamepad1);
+        } else {
+            arbiter.cancelRequest(primary, gamepad1);
+            arbiter.cancelRequest(primary, gamepad2);
+        }
     }
 
     /**
-     * Mutator for the status of the G1 controller
-     * @param g2Primary the new status of the G1 controller
+     * Mutator for the status of the G2 controller. Exactly one controller is always primary, so
+     * making G2 not primary makes G1 primary.
+     * @param g2Primary the new status of the G2 controller
      */
     public void setG2Primary(boolean g2Primary) {
-        isG2Primary = g2Primary;
+        setG1Primary(!g2Primary);
+    }
+
+    /**
+     * @return the arbiter deciding which controller is primary
+     */
+    public ResourceArbiter getArbiter() {
+        return arbiter;
+    }
+
+    /**
+     * @return the resource whose owner is the primary driver
+     */
+    public ResourceArbiter.Resource getPrimaryResource() {
+        return primary;
+    }
+
+    /**
+     * @return the owner standing in for gamepad1
+     */
+    public ResourceArbiter.Owner getGamepad1Owner() {
+        return gamepad1;
+    }
+
+    /**
+     * @return the owner standing in for gamepad2
+     */
+    public ResourceArbiter.Owner getGamepad2Owner() {
+        return gamepad2;
     }
 
     /**
@@ -106,11 +151,11 @@ public class AccessControl {
      * @return the telemetry string
      */
     public String getTelemetryState() {
-        if (isG1Primary) {
+        if (isG1Primary()) {
             return "P1 is Primary";
         }
 
-        if (isG2Primary) {
+        if (isG2Primary()) {
             return "P2 is Primary";
         }
 
@@ -0,0 +1,304 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.robodata;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides who owns each part of the robot: the drivetrain, each mechanism, or anything else that
+ * shouldn't take orders from two places at once. Owners are the drivers, autonomous actions, or
+ * anything else that gives orders, and each has a priority.
+ * <p>
+ * Each resource keeps its whole state (who owns it, and who has asked for it next) in one atomic
+ * value, so it can never be half-switched, and claiming one never blocks: a claim either wins or
+ * it doesn't. That makes it safe to use from controller threads as well as the OpMode loop.
+ * <ul>
+ *     <li>{@link ResourceArbiter#tryClaim} takes a resource that is free, or owned by someone with a lower priority.</li>
+ *     <li>{@link ResourceArbiter#requestHandoff} asks the owner to give it up; the owner sees
+ *     {@link ResourceArbiter#isHandoffRequested} and calls {@link ResourceArbiter#release}, which hands it over.</li>
+ * </ul>
+ * Owners find out they've lost a resource by checking {@link ResourceArbiter#isOwner} before giving orders.
+ * @see AccessControl
+ * @since 10/19/26
+ */
+public class ResourceArbiter {
+
+    /**
+     * Something that gives orders, i.e. a driver or an autonomous action
+     */
+    public static final class Owner {
+        private final int id;
+        private final String name;
+        private final int priority;
+
+        private Owner(int id, String name, int priority) {
+            this.id = id;
+            this.name = name;
+            this.priority = priority;
+        }
+
+        /**
+         * @return the owner's name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the owner's priority; a higher priority can take resources from a lower one
+         */
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Something that can only take orders from one owner at a time
+     */
+    public static final class Resource {
+        private final String name;
+
+        /**
+         * the owner's id in the low 32 bits and the requester's in the high 32; 0 means nobody
+         */
+        private final AtomicLong state = new AtomicLong();
+
+        private Resource(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the resource's name
+         */
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Resource> resources = new ConcurrentHashMap<>();
+
+    /**
+     * every owner, by id; index 0 is nobody. Only grows, and is replaced rather than changed, so it can be read without locking.
+     */
+    private volatile Owner[] owners = new Owner[1];
+
+    /**
+     * Gets a resource, creating it the first time
+     * @param name the name of the resource
+     * @return the resource
+     */
+    public Resource resource(String name) {
+        Resource resource = resources.get(name);
+        if (resource == null) {
+            Resource created = new Resource(name);
+            resource = resources.putIfAbsent(name, created);
+            if (resource == null) resource = created;
+        }
+        return resource;
+    }
+
+    /**
+     * Creates a resource of its own, which {@link ResourceArbiter#resource(String)} never returns, for
+     * something that mustn't be shared with whoever else happens to use the same name
+     * @param name the name of the resource, for telemetry
+     * @return the resource
+     */
+    public Resource newResource(String name) {
+        return new Resource(name);
+    }
+
+    /**
+     * Creates an owner. Do this during init; claiming is lock-free, but this isn't.
+     * @param name the name of the owner, for telemetry
+     * @param priority how important it is; a higher priority can take resources from a lower one
+     * @return the owner
+     */
+    public synchronized Owner newOwner(String name, int priority) {
+        Owner[] current = owners;
+        Owner owner = new Owner(current.length, name, priority);
+        Owner[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[owner.id] = owner;
+        owners = grown;
+        return owner;
+    }
+
+    private static int ownerId(long state) {
+        return (int) state;
+    }
+
+    private static int requesterId(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static long state(int ownerId, int requesterId) {
+        return ((long) requesterId << 32) | (ownerId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Tries to take a resource. Wins if the resource is free, already ours, or owned by someone with a lower priority.
+     * @param resource the resource to take
+     * @param owner who wants it
+     * @return whether owner has the resource now
+     */
+    public boolean tryClaim(Resource resource, Owner owner) {
+        while (true) {
+            long current = resource.state.get();
+            int ownerId = ownerId(current);
+            if (ownerId == owner.id) {
+                return true;
+            }
+            if (ownerId != 0 && owners[ownerId].priority >= owner.priority) {
+                return false;
+            }
+            // Our claim answers our own request, if we'd made one
+            int requesterId = requesterId(current) == owner.id ? 0 : requesterId(current);
+            if (resource.state.compareAndSet(current, state(owner.id, requesterId))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Asks for a resource. If it is free, it is taken right away; otherwise the request waits for the
+     * owner to release it. A request replaces another one with a lower priority.
+     * @param resource the resource to ask for
+     * @param owner who wants it
+     * @return whether owner has the resource now
+     */
+    public boolean requestHandoff(Resource resource, Owner owner) {
+        while (true) {
+            long current = resource.state.get();
+            int ownerId = ownerId(current);
+            if (ownerId == owner.id) {
+                return true;
+            }
+            long next;
+            if (ownerId == 0) {
+                next = state(owner.id, 0);
+            } else {
+                int requesterId = requesterId(current);
+                if (requesterId == owner.id) {
+                    return false;
+                }
+                if (requesterId != 0 && owners[requesterId].priority >= owner.priority) {
+                    return false;
+                }
+                next = state(ownerId, owner.id);
+            }
+            if (resource.state.compareAndSet(current, next)) {
+                return ownerId == 0;
+            }
+        }
+    }
+
+    /**
+     * Lets go of a resource. If someone has asked for it, it goes straight to them.
+     * @param resource the resource to let go of
+     * @param owner who has it
+     * @return false if owner didn't have the resource
+     */
+    public boolean release(Resource resource, Owner owner) {
+        while (true) {
+            long current = resource.state.get();
+            if (ownerId(current) != owner.id) {
+                return false;
+            }
+            if (resource.state.compareAndSet(current, state(requesterId(current), 0))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives a resource straight to another owner, whatever their priority
+     * @param resource the resource to give
+     * @param from who has it
+     * @param to who to give it to
+     * @return false if from didn't have the resource
+     */
+    public boolean transfer(Resource resource, Owner from, Owner to) {
+        while (true) {
+            long current = resource.state.get();
+            if (ownerId(current) != from.id) {
+                return false;
+            }
+            int requesterId = requesterId(current) == to.id ? 0 : requesterId(current);
+            if (resource.state.compareAndSet(current, state(to.id, requesterId))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes back a request that hasn't been answered
+     * @param resource the resource that was asked for
+     * @param owner who asked
+     */
+    public void cancelRequest(Resource resource, Owner owner) {
+        while (true) {
+            long current = resource.state.get();
+            if (requesterId(current) != owner.id
+                    || resource.state.compareAndSet(current, state(ownerId(current), 0))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lets go of every resource an owner has, and takes back its requests, i.e. when an autonomous action ends
+     * @param owner the owner
+     */
+    public void releaseAll(Owner owner) {
+        for (Resource resource : resources.values()) {
+            release(resource, owner);
+            cancelRequest(resource, owner);
+        }
+    }
+
+    /**
+     * @param resource the resource
+     * @param owner the owner
+     * @return whether owner has the resource
+     */
+    public boolean isOwner(Resource resource, Owner owner) {
+        return ownerId(resource.state.get()) == owner.id;
+    }
+
+    /**
+     * @param resource the resource
+     * @return who has the resource, or null if it is free
+     */
+    public Owner getOwner(Resource resource) {
+        int ownerId = ownerId(resource.state.get());
+        return ownerId == 0 ? null : owners[ownerId];
+    }
+
+    /**
+     * @param resource the resource
+     * @return who has asked for the resource next, or null if nobody has
+     */
+    public Owner getRequester(Resource resource) {
+        int requesterId = requesterId(resource.state.get());
+        return requesterId == 0 ? null : owners[requesterId];
+    }
+
+    /**
+     * @param resource the resource
+     * @param owner the owner
+     * @return whether owner has the resource and someone else has asked for it
+     */
+    public boolean isHandoffRequested(Resource resource, Owner owner) {
+        long current = resource.state.get();
+        return ownerId(current) == owner.id && requesterId(current) != 0;
+    }
+}
@@ -0,0 +1,269 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.simulation;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Angle;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Pose2d;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcomes of every run in a {@link BatchSimulator} batch, and statistics over them, i.e. to compare
+ * two versions of a route:
+ * <pre>
+ *     BatchResult result = simulator.run(2000);
+ *     System.out.println(result.getCompletionRate() + " finished, error " + result.getPositionError(target));
+ * </pre>
+ * @since 10/19/26
+ */
+public class BatchResult {
+
+    /**
+     * How one run went
+     */
+    public static final class Outcome {
+        /**
+         * the number of the run, from 0
+         */
+        public final int run;
+
+        /**
+         * the seed it ran with; {@link BatchSimulator#runOne(int)} with the same run number repeats it exactly
+         */
+        public final long seed;
+
+        /**
+         * whether the routine finished before the time limit
+         */
+        public final boolean completed;
+
+        /**
+         * how long the routine ran, in seconds
+         */
+        public final double time;
+
+        /**
+         * where the robot really ended up, once it settled, in m
+         */
+        public final Pose2d finalPose;
+
+        /**
+         * the lowest the battery's voltage got, in V
+         */
+        public final double minVoltage;
+
+        /**
+         * the energy drawn from the battery, in joules
+         */
+        public final double energy;
+
+        /**
+         * the fastest any wheel slipped, in m/s
+         */
+        public final double maxSlip;
+
+        Outcome(int run, long seed, boolean completed, double time, Pose2d finalPose,
+                double minVoltage, double energy, double maxSlip) {
+            this.run = run;
+            this.seed = seed;
+            this.completed = completed;
+            this.time = time;
+            this.finalPose = finalPose;
+            this.minVoltage = minVoltage;
+            this.energy = energy;
+            this.maxSlip = maxSlip;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("run %d: %s in %.2fs at %s, min %.2fV", run,
+                    completed ? "completed" : "timed out", time, finalPose, minVoltage);
+        }
+    }
+
+    /**
+     * The spread of some value over the runs
+     */
+    public static final class Summary {
+        /**
+         * the number of runs
+         */
+        public final int count;
+        /**
+         * the mean over the runs
+         */
+        public final double mean;
+        /**
+         * the sample standard deviation over the runs
+         */
+        public final double standardDeviation;
+        /**
+         * the lowest value
+         */
+        public final double min;
+        /**
+         * the middle value
+         */
+        public final double median;
+
+        /**
+         * the value 95% of runs were at or under
+         */
+        public final double percentile95;
+        /**
+         * the highest value
+         */
+        public final double max;
+
+        private Summary(double[] values) {
+            count = values.length;
+            if (count == 0) {
+                mean = standardDeviation = min = median = percentile95 = max = Double.NaN;
+                return;
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (double value : sorted) {
+                sum += value;
+            }
+            mean = sum / count;
+            double squares = 0;
+            for (double value : sorted) {
+                squares += (value - mean) * (value - mean);
+            }
+            standardDeviation = count > 1 ? Math.sqrt(squares / (count - 1)) : 0;
+            min = sorted[0];
+            median = percentile(sorted, 0.5);
+            percentile95 = percentile(sorted, 0.95);
+            max = sorted[count - 1];
+        }
+
+        private static double percentile(double[] sorted, double fraction) {
+            double index = fraction * (sorted.length - 1);
+            int below = (int) Math.floor(index);
+            int above = Math.min(sorted.length - 1, below + 1);
+            return sorted[below] + (sorted[above] - sorted[below]) * (index - below);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("mean %.4f +/- %.4f, min %.4f, median %.4f, 95%% %.4f, max %.4f (n = %d)",
+                    mean, standardDeviation, min, median, percentile95, max, count);
+        }
+    }
+
+    private final Outcome[] outcomes;
+    private final long wallNanos;
+
+    BatchResult(Outcome[] outcomes, long wallNanos) {
+        this.outcomes = outcomes;
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * @return every run's outcome, in run order
+     */
+    public List<Outcome> getOutcomes() {
+        return Collections.unmodifiableList(Arrays.asList(outcomes));
+    }
+
+    /**
+     * @return the number of runs
+     */
+    public int size() {
+        return outcomes.length;
+    }
+
+    /**
+     * @return the fraction of runs that finished before the time limit
+     */
+    public double getCompletionRate() {
+        if (outcomes.length == 0) return Double.NaN;
+        int completed = 0;
+        for (Outcome outcome : outcomes) {
+            if (outcome.completed) completed++;
+        }
+        return (double) completed / outcomes.length;
+    }
+
+    /**
+     * @return how long the runs that finished took, in seconds
+     */
+    public Summary getTime() {
+        int count = 0;
+        for (Outcome outcome : outcomes) {
+            if (outcome.completed) count++;
+        }
+        double[] values = new double[count];
+        int i = 0;
+        for (Outcome outcome : outcomes) {
+            if (outcome.completed) values[i++] = outcome.time;
+        }
+        return new Summary(values);
+    }
+
+    /**
+     * @param target where the robot was meant to end up, in m
+     * @return how far from it the robot ended up, in m
+     */
+    public Summary getPositionError(Pose2d target) {
+        double[] values = new double[outcomes.length];
+        for (int i = 0; i < outcomes.length; i++) {
+            values[i] = Math.hypot(outcomes[i].finalPose.x - target.x, outcomes[i].finalPose.y - target.y);
+        }
+        return new Summary(values);
+    }
+
+    /**
+     * @param target where the robot was meant to end up
+     * @return how far from its heading the robot ended up, in radians
+     */
+    public Summary getHeadingError(Pose2d target) {
+        double[] values = new double[outcomes.length];
+        for (int i = 0; i < outcomes.length; i++) {
+            values[i] = Math.abs(Angle.difference(outcomes[i].finalPose.heading, target.heading));
+        }
+        return new Summary(values);
+    }
+
+    /**
+     * @return the lowest battery voltage in each run, in V
+     */
+    public Summary getMinVoltage() {
+        double[] values = new double[outcomes.length];
+        for (int i = 0; i < outcomes.length; i++) {
+            values[i] = outcomes[i].minVoltage;
+        }
+        return new Summary(values);
+    }
+
+    /**
+     * @return the energy drawn in each run, in joules
+     */
+    public Summary getEnergy() {
+        double[] values = new double[outcomes.length];
+        for (int i = 0; i < outcomes.length; i++) {
+            values[i] = outcomes[i].energy;
+        }
+        return new Summary(values);
+    }
+
+    /**
+     * @return the fastest wheel slip in each run, in m/s
+     */
+    public Summary getMaxSlip() {
+        double[] values = new double[outcomes.length];
+        for (int i = 0; i < outcomes.length; i++) {
+            values[i] = outcomes[i].maxSlip;
+        }
+        return new Summary(values);
+    }
+
+    /**
+     * @return how long the whole batch took to simulate, in milliseconds of real time
+     */
+    public double getWallMillis() {
+        return wallNanos / 1e6;
+    }
+}
@@ -0,0 +1,198 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.simulation;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Pose2d;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs an autonomous routine many times on {@link SimulatedRobot}s, each with its own random
+ * {@link Noise}, and collects how it went. It is meant for a computer rather than the robot
+ * controller: thousands of 30 second runs take seconds, so a change to a route can be checked
+ * against every kind of bad luck overnight instead of on the practice field.
+ * <pre>
+ *     BatchSimulator simulator = new BatchSimulator(model, new SimulatedRoutine.Factory() {
+ *         public SimulatedRoutine create(int run) {
+ *             return new DepotRoutine();
+ *         }
+ *     });
+ *     simulator.setNoise(Noise.typical());
+ *     BatchResult result = simulator.run(5000);
+ * </pre>
+ * The runs are spread over a pool of threads, one per processor by default. Each run's noise comes
+ * from its own seed, worked out from the batch's seed and the run number, so a batch gives the same
+ * results however the threads happen to be scheduled, and any one run can be repeated with
+ * {@link BatchSimulator#runOne(int)} to look at what went wrong.
+ * @since 10/19/26
+ */
+public class BatchSimulator {
+
+    /**
+     * How long the robot is left to coast to a stop after the routine ends, in seconds
+     */
+    public static final double SETTLE_TIME = 0.5;
+
+    private final RobotModel model;
+    private final SimulatedRoutine.Factory factory;
+
+    private Noise noise = new Noise();
+    private long seed;
+    private final Pose2d start = new Pose2d();
+    private double timeLimit = 30;
+    private double loopPeriod = 0.02;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a batch simulator with no noise, starting at the origin
+     * @param model the robot to simulate
+     * @param factory makes the routine for each run
+     */
+    public BatchSimulator(RobotModel model, SimulatedRoutine.Factory factory) {
+        this.model = model;
+        this.factory = factory;
+    }
+
+    /**
+     * @param noise how much each run differs from the model
+     */
+    public void setNoise(Noise noise) {
+        this.noise = noise;
+    }
+
+    /**
+     * @param seed the seed every run's seed is worked out from
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param start where the robot is meant to be placed, in m
+     */
+    public void setStart(Pose2d start) {
+        this.start.set(start);
+    }
+
+    /**
+     * @param seconds how long a routine gets before it is stopped, i.e. 30 for autonomous
+     */
+    public void setTimeLimit(double seconds) {
+        this.timeLimit = seconds;
+    }
+
+    /**
+     * @param seconds how long each loop of the routine takes, before jitter
+     */
+    public void setLoopPeriod(double seconds) {
+        this.loopPeriod = seconds;
+    }
+
+    /**
+     * @param threads how many runs to simulate at once
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("need at least one thread: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * @param run the number of the run
+     * @return the seed that run uses
+     */
+    public long getSeed(int run) {
+        // Spread neighbouring run numbers far apart, so their random sequences don't line up
+        long mixed = seed + (run + 1) * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * Simulates one run, on this thread
+     * @param run the number of the run
+     * @return how it went
+     */
+    public BatchResult.Outcome runOne(int run) {
+        long runSeed = getSeed(run);
+        Random random = new Random(runSeed);
+        SimulatedRobot robot = new SimulatedRobot(model, noise, random.nextLong(), start);
+        SimulatedRoutine routine = factory.create(run);
+
+        routine.start(robot);
+        boolean running = true;
+        while (running && robot.getTime() < timeLimit) {
+            running = routine.loop(robot);
+            robot.step(loopPeriod + Math.abs(random.nextGaussian()) * noise.loopJitter);
+        }
+        double time = Math.min(robot.getTime(), timeLimit);
+
+        robot.stopMoving();
+        robot.step(SETTLE_TIME);
+        return new BatchResult.Outcome(run, runSeed, !running, time, robot.getPose(new Pose2d()),
+                robot.getMinVoltage(), robot.getEnergy(), robot.getMaxSlip());
+    }
+
+    /**
+     * Simulates a batch of runs, numbered from 0, in parallel
+     * @param runs how many runs
+     * @return every run's outcome, and statistics over them
+     * @throws InterruptedException if this thread is interrupted while waiting for the runs
+     * @throws RuntimeException whatever a routine threw, if one did
+     */
+    public BatchResult run(final int runs) throws InterruptedException {
+        long startTime = System.nanoTime();
+        final BatchResult.Outcome[] outcomes = new BatchResult.Outcome[runs];
+        final AtomicInteger next = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int count = 0;
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "robotplus-simulation-" + count++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            // Each worker takes the next run number until there are none left, so a slow run doesn't hold up the rest
+            List<Future<Void>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int run = next.getAndIncrement(); run < runs; run = next.getAndIncrement()) {
+                            outcomes[run] = runOne(run);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    // Stop handing out runs, and pass on what went wrong
+                    next.set(runs);
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    if (cause instanceof Error) throw (Error) cause;
+                    throw new RuntimeException(cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new BatchResult(outcomes, System.nanoTime() - startTime);
+    }
+}
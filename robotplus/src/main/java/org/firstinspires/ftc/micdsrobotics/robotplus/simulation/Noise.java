@@ -0,0 +1,130 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.simulation;
+
+/**
+ * How much each run of a {@link SimulatedRobot} differs from the {@link RobotModel}, and how noisy its
+ * sensors are. Every value is a standard deviation; a new Noise has none at all, so a run is exactly
+ * the model. The random numbers come from the run's seed, so the same seed always gives the same run.
+ * @since 10/19/26
+ */
+public class Noise {
+
+    /**
+     * the spread of the robot's mass, as a fraction of it
+     */
+    double massFraction;
+
+    /**
+     * the spread of each wheel's friction, as a fraction of it
+     */
+    double frictionFraction;
+
+    /**
+     * the spread of each motor's strength, as a fraction of it
+     */
+    double motorFraction;
+
+    /**
+     * the spread of the battery's resting voltage, in V
+     */
+    double batteryVoltage;
+
+    /**
+     * the spread of where the robot is placed, in m along each axis
+     */
+    double startPosition;
+
+    /**
+     * the spread of which way the robot is placed, in radians
+     */
+    double startHeading;
+
+    /**
+     * the spread of each position measurement, in m along each axis
+     */
+    double positionMeasurement;
+
+    /**
+     * the spread of each heading measurement, in radians
+     */
+    double headingMeasurement;
+
+    /**
+     * the spread of the IMU's drift, in radians per second
+     */
+    double headingDrift;
+
+    /**
+     * the spread of the extra time each loop takes, in seconds
+     */
+    double loopJitter;
+
+    /**
+     * @return noise a little worse than a typical robot on a typical field, for testing how robust a routine is
+     */
+    public static Noise typical() {
+        return new Noise()
+                .setBuild(0.05, 0.1, 0.05)
+                .setBattery(0.3)
+                .setPlacement(0.01, Math.toRadians(1))
+                .setSensors(0.005, Math.toRadians(0.5), Math.toRadians(0.05))
+                .setLoopJitter(0.005);
+    }
+
+    /**
+     * Sets how much each robot differs from the model
+     * @param massFraction the spread of the mass, as a fraction of it
+     * @param frictionFraction the spread of each wheel's friction, as a fraction of it
+     * @param motorFraction the spread of each motor's strength, as a fraction of it
+     * @return this noise, for chaining
+     */
+    public Noise setBuild(double massFraction, double frictionFraction, double motorFraction) {
+        this.massFraction = massFraction;
+        this.frictionFraction = frictionFraction;
+        this.motorFraction = motorFraction;
+        return this;
+    }
+
+    /**
+     * @param voltage the spread of the battery's resting voltage, in V
+     * @return this noise, for chaining
+     */
+    public Noise setBattery(double voltage) {
+        this.batteryVoltage = voltage;
+        return this;
+    }
+
+    /**
+     * Sets how carefully the robot is placed at the start
+     * @param position the spread along each axis, in m
+     * @param heading the spread of the heading, in radians
+     * @return this noise, for chaining
+     */
+    public Noise setPlacement(double position, double heading) {
+        this.startPosition = position;
+        this.startHeading = heading;
+        return this;
+    }
+
+    /**
+     * Sets how noisy {@link SimulatedRobot#getMeasuredPose} and {@link SimulatedRobot#getHeading()} are
+     * @param position the spread of each position measurement along each axis, in m
+     * @param heading the spread of each heading measurement, in radians
+     * @param drift the spread of the IMU's drift, in radians per second
+     * @return this noise, for chaining
+     */
+    public Noise setSensors(double position, double heading, double drift) {
+        this.positionMeasurement = position;
+        this.headingMeasurement = heading;
+        this.headingDrift = drift;
+        return this;
+    }
+
+    /**
+     * @param seconds the spread of the extra time each loop takes, in seconds
+     * @return this noise, for chaining
+     */
+    public Noise setLoopJitter(double seconds) {
+        this.loopJitter = seconds;
+        return this;
+    }
+}
@@ -0,0 +1,305 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.simulation;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.hardware.Motor;
+import org.firstinspires.ftc.micdsrobotics.robotplus.path.MecanumConstraints;
+
+/**
+ * The physical description of a robot for a {@link SimulatedRobot}: its drivetrain, motors, mass,
+ * wheels and battery. Everything is in SI units (meters, kilograms, seconds, volts), so trajectories
+ * for a simulated robot are built in meters too.
+ * <p>
+ * The defaults are a typical 15 kg robot on 4" wheels, so only what differs needs setting:
+ * <pre>
+ *     RobotModel model = new RobotModel(RobotModel.Drive.MECANUM, Motor.NEVERREST40)
+ *             .setMass(12)
+ *             .setFootprint(0.36, 0.32);
+ * </pre>
+ * A model isn't changed by simulating it, so one model can be shared by every run of a {@link BatchSimulator}.
+ * @since 10/19/26
+ */
+public class RobotModel {
+
+    /**
+     * The kind of drivetrain, like {@link org.firstinspires.ftc.micdsrobotics.robotplus.hardware.MecanumDrive}
+     * and {@link org.firstinspires.ftc.micdsrobotics.robotplus.hardware.TankDrive}
+     */
+    public enum Drive {
+        MECANUM,
+        TANK
+    }
+
+    private final Drive drive;
+    private final Motor motor;
+
+    private double mass = 15;
+    private double momentOfInertia = Double.NaN;
+    private double wheelRadius = 0.0508;
+    private double gearRatio = 1;
+    private double trackWidth = 0.36;
+    private double wheelbase = 0.30;
+
+    /**
+     * the moment of inertia of each wheel, including its gearbox and motor, in kg*m^2
+     */
+    private double wheelInertia = 0.002;
+
+    /**
+     * the most a wheel can push before it slides, as a fraction of the weight on it
+     */
+    private double friction = 0.8;
+
+    /**
+     * the force per m/s of slip before a wheel slides, in N*s/m
+     */
+    private double tractionStiffness = 400;
+
+    /**
+     * the force per m/s that a mecanum wheel's rollers resist spinning with, in N*s/m
+     */
+    private double rollerDrag = 1;
+
+    private double batteryVoltage = 13;
+    private double batteryResistance = 0.08;
+
+    /**
+     * how far the battery's resting voltage drops per amp hour drawn
+     */
+    private double voltsPerAmpHour = 0.4;
+
+    private double physicsStep = 0.0005;
+
+    /**
+     * Creates a model with the default mass, wheels, footprint and battery
+     * @param drive the kind of drivetrain
+     * @param motor the drive motors
+     */
+    public RobotModel(Drive drive, Motor motor) {
+        this.drive = drive;
+        this.motor = motor;
+    }
+
+    /**
+     * @param mass the mass of the whole robot, in kg
+     * @return this model, for chaining
+     */
+    public RobotModel setMass(double mass) {
+        this.mass = mass;
+        return this;
+    }
+
+    /**
+     * Sets the moment of inertia about the center; otherwise it is worked out as a solid box the size of the footprint
+     * @param momentOfInertia the moment of inertia, in kg*m^2
+     * @return this model, for chaining
+     */
+    public RobotModel setMomentOfInertia(double momentOfInertia) {
+        this.momentOfInertia = momentOfInertia;
+        return this;
+    }
+
+    /**
+     * @param wheelRadius the wheel radius, in m
+     * @param gearRatio wheel turns per motor output turn
+     * @return this model, for chaining
+     */
+    public RobotModel setWheels(double wheelRadius, double gearRatio) {
+        this.wheelRadius = wheelRadius;
+        this.gearRatio = gearRatio;
+        return this;
+    }
+
+    /**
+     * @param trackWidth the distance between the left and right wheels, in m
+     * @param wheelbase the distance between the front and back wheels, in m
+     * @return this model, for chaining
+     */
+    public RobotModel setFootprint(double trackWidth, double wheelbase) {
+        this.trackWidth = trackWidth;
+        this.wheelbase = wheelbase;
+        return this;
+    }
+
+    /**
+     * @param wheelInertia the moment of inertia of each wheel, including its gearbox and motor, in kg*m^2
+     * @return this model, for chaining
+     */
+    public RobotModel setWheelInertia(double wheelInertia) {
+        this.wheelInertia = wheelInertia;
+        return this;
+    }
+
+    /**
+     * Sets how the wheels grip. A wheel pushes in proportion to how fast it slips until it reaches
+     * friction times the weight on it, and then it slides.
+     * @param friction the coefficient of friction
+     * @param tractionStiffness the force per m/s of slip before sliding, in N*s/m
+     * @param rollerDrag for mecanum wheels, the force per m/s the rollers resist spinning with, in N*s/m
+     * @return this model, for chaining
+     */
+    public RobotModel setTraction(double friction, double tractionStiffness, double rollerDrag) {
+        this.friction = friction;
+        this.tractionStiffness = tractionStiffness;
+        this.rollerDrag = rollerDrag;
+        return this;
+    }
+
+    /**
+     * Sets how the battery sags: its voltage is the resting voltage, minus the internal resistance times
+     * the current, and the resting voltage drops as charge is used
+     * @param voltage the resting voltage at the start, in V
+     * @param resistance the internal resistance, including wiring, in ohms
+     * @param voltsPerAmpHour how far the resting voltage drops per amp hour drawn
+     * @return this model, for chaining
+     */
+    public RobotModel setBattery(double voltage, double resistance, double voltsPerAmpHour) {
+        this.batteryVoltage = voltage;
+        this.batteryResistance = resistance;
+        this.voltsPerAmpHour = voltsPerAmpHour;
+        return this;
+    }
+
+    /**
+     * Sets the time step the physics is integrated at. Smaller is more accurate and slower; a stiffer
+     * traction needs a smaller step to stay stable.
+     * @param seconds the time step, in seconds
+     * @return this model, for chaining
+     */
+    public RobotModel setPhysicsStep(double seconds) {
+        this.physicsStep = seconds;
+        return this;
+    }
+
+    /**
+     * @return the kind of drivetrain
+     */
+    public Drive getDrive() {
+        return drive;
+    }
+
+    /**
+     * @return the drive motors
+     */
+    public Motor getMotor() {
+        return motor;
+    }
+
+    /**
+     * @return the mass of the whole robot, in kg
+     */
+    public double getMass() {
+        return mass;
+    }
+
+    /**
+     * @return the moment of inertia about the center, in kg*m^2; a solid box the size of the footprint unless it was set
+     */
+    public double getMomentOfInertia() {
+        return Double.isNaN(momentOfInertia)
+                ? mass * (trackWidth * trackWidth + wheelbase * wheelbase) / 12
+                : momentOfInertia;
+    }
+
+    /**
+     * @return the wheel radius, in m
+     */
+    public double getWheelRadius() {
+        return wheelRadius;
+    }
+
+    /**
+     * @return wheel turns per motor output turn
+     */
+    public double getGearRatio() {
+        return gearRatio;
+    }
+
+    /**
+     * @return the distance between the left and right wheels, in m
+     */
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+
+    /**
+     * @return the distance between the front and back wheels, in m
+     */
+    public double getWheelbase() {
+        return wheelbase;
+    }
+
+    /**
+     * @return the moment of inertia of each wheel, including its gearbox and motor, in kg*m^2
+     */
+    public double getWheelInertia() {
+        return wheelInertia;
+    }
+
+    /**
+     * @return the coefficient of friction
+     */
+    public double getFriction() {
+        return friction;
+    }
+
+    /**
+     * @return the force per m/s of slip before a wheel slides, in N*s/m
+     */
+    public double getTractionStiffness() {
+        return tractionStiffness;
+    }
+
+    /**
+     * @return the force per m/s that a mecanum wheel's rollers resist spinning with, in N*s/m
+     */
+    public double getRollerDrag() {
+        return rollerDrag;
+    }
+
+    /**
+     * @return the battery's resting voltage at the start, in V
+     */
+    public double getBatteryVoltage() {
+        return batteryVoltage;
+    }
+
+    /**
+     * @return the battery's internal resistance, including wiring, in ohms
+     */
+    public double getBatteryResistance() {
+        return batteryResistance;
+    }
+
+    /**
+     * @return how far the battery's resting voltage drops per amp hour drawn
+     */
+    public double getVoltsPerAmpHour() {
+        return voltsPerAmpHour;
+    }
+
+    /**
+     * @return the time step the physics is integrated at, in seconds
+     */
+    public double getPhysicsStep() {
+        return physicsStep;
+    }
+
+    /**
+     * @return how fast a wheel's surface goes at full power and 12V with no load, in m/s; 1 over this is a good kV
+     */
+    public double getFreeWheelSpeed() {
+        return motor.getFreeSpeed() / 60 * gearRatio * 2 * Math.PI * wheelRadius;
+    }
+
+    /**
+     * Makes trajectory constraints for this robot, in meters
+     * @param speedFraction how much of the free speed to plan for, i.e. 0.8
+     * @param maxWheelAcceleration the fastest a wheel's surface may speed up or slow down, in m/s^2
+     * @param maxCentripetalAcceleration the most sideways acceleration allowed on curves, in m/s^2
+     * @return the constraints
+     */
+    public MecanumConstraints toConstraints(double speedFraction, double maxWheelAcceleration,
+                                            double maxCentripetalAcceleration) {
+        return MecanumConstraints.fromMotor(motor, wheelRadius, gearRatio, speedFraction,
+                maxWheelAcceleration, maxCentripetalAcceleration, trackWidth, wheelbase);
+    }
+}
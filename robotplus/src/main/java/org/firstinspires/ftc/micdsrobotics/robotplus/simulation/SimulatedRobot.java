@@ -0,0 +1,372 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.simulation;
+
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Angle;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Pose2d;
+import org.firstinspires.ftc.micdsrobotics.robotplus.geometry.Twist2d;
+import org.firstinspires.ftc.micdsrobotics.robotplus.hardware.MecanumWheels;
+
+import java.util.Random;
+
+/**
+ * A robot that only exists in memory: a rigid body on a flat field, pushed around by its four wheels.
+ * Each loop, set the wheel powers like on a real drivetrain, then {@link SimulatedRobot#step(double)}
+ * the physics forward by the loop time. Nothing waits on a clock, so it runs as fast as the CPU allows.
+ * <p>
+ * What is modeled:
+ * <ul>
+ *     <li>Motors: torque falls off linearly from stall torque to nothing at free speed, scaled by the
+ *     voltage the power asks for, from the {@link org.firstinspires.ftc.micdsrobotics.robotplus.hardware.Motor} specs.
+ *     At zero power the motors brake.</li>
+ *     <li>The battery: its voltage sags with the current drawn through its internal resistance, and
+ *     drops slowly as charge is used, so the same power is weaker late in a run.</li>
+ *     <li>Wheels: each wheel has its own speed, and pushes the robot in proportion to how fast its
+ *     contact patch slips, up to friction times the weight on it. A mecanum wheel only grips along
+ *     its rollers' axis; across it, the rollers spin almost freely. A tank wheel grips both ways.</li>
+ * </ul>
+ * The robot faces along its pose's heading, as in {@link Pose2d}: its y axis is forward and its x axis to
+ * its right, the same as {@link org.firstinspires.ftc.micdsrobotics.robotplus.path.HolonomicFollower}'s,
+ * and the mecanum wheels are in {@link org.firstinspires.ftc.micdsrobotics.robotplus.hardware.MecanumDrive}'s
+ * order, so a follower can drive one directly. The tank wheels are in
+ * {@link org.firstinspires.ftc.micdsrobotics.robotplus.hardware.TankDrive}'s order: left ones first.
+ * <p>
+ * The same model, noise and seed always give exactly the same run. Steps don't allocate.
+ * @since 10/19/26
+ */
+public class SimulatedRobot implements MecanumWheels {
+
+    private static final double GRAVITY = 9.81;
+    private static final double NOMINAL_VOLTAGE = 12;
+    private static final double ROOT_HALF = Math.sqrt(0.5);
+
+    private final RobotModel model;
+    private final Noise noise;
+    private final Random random;
+    private final boolean mecanum;
+
+    private final double mass;
+    private final double momentOfInertia;
+    private final double wheelRadius;
+    private final double gearRatio;
+    private final double wheelInertia;
+    private final double normalForce;
+    private final double lateralStiffness;
+    private final double stallTorque;
+    private final double stallCurrent;
+    private final double freeSpeed;
+    private final double countsPerRadian;
+    private final double headingDrift;
+
+    // Each wheel: where it is, which way its surface moves along the robot's y axis, and which way it grips, in the robot's frame
+    private final double[] wheelX = new double[4];
+    private final double[] wheelY = new double[4];
+    private final double[] rimDirections = new double[4];
+    private final double[] gripX = new double[4];
+    private final double[] gripY = new double[4];
+    private final double[] friction = new double[4];
+    private final double[] strength = new double[4];
+
+    private final double[] powers = new double[4];
+    private final double[] wheelSpeeds = new double[4];
+    private final double[] wheelAngles = new double[4];
+
+    /**
+     * the true pose and velocity, in the field's frame
+     */
+    private final Pose2d pose = new Pose2d();
+    private double vx;
+    private double vy;
+    private double omega;
+
+    private final double restingVoltage;
+    private double voltage;
+    private double current;
+    private double ampHours;
+    private double energy;
+    private double minVoltage;
+    private double maxSlip;
+    private double time;
+
+    /**
+     * Creates a robot exactly like the model, at the origin
+     * @param model the robot to simulate
+     */
+    public SimulatedRobot(RobotModel model) {
+        this(model, new Noise(), 0, new Pose2d());
+    }
+
+    /**
+     * Creates a robot that differs from the model by some noise
+     * @param model the robot to simulate
+     * @param noise how much it differs, and how noisy its sensors are
+     * @param seed the seed for the noise
+     * @param start where the robot is meant to be placed, in m
+     */
+    public SimulatedRobot(RobotModel model, Noise noise, long seed, Pose2d start) {
+        this.model = model;
+        this.noise = noise;
+        this.random = new Random(seed);
+        this.mecanum = model.getDrive() == RobotModel.Drive.MECANUM;
+
+        double massScale = Math.max(0.1, 1 + random.nextGaussian() * noise.massFraction);
+        this.mass = model.getMass() * massScale;
+        this.momentOfInertia = model.getMomentOfInertia() * massScale;
+        this.wheelRadius = model.getWheelRadius();
+        this.gearRatio = model.getGearRatio();
+        this.wheelInertia = model.getWheelInertia();
+        this.normalForce = mass * GRAVITY / 4;
+        this.lateralStiffness = mecanum ? model.getRollerDrag() : model.getTractionStiffness();
+        this.stallTorque = model.getMotor().getStallTorque();
+        this.stallCurrent = model.getMotor().getStallCurrent();
+        this.freeSpeed = model.getMotor().getFreeSpeed() / 60 * 2 * Math.PI;
+        this.countsPerRadian = model.getMotor().getCountsPerRevolution() / (2 * Math.PI);
+
+        double a = model.getTrackWidth() / 2;
+        double b = model.getWheelbase() / 2;
+        if (mecanum) {
+            // major1, minor1, minor2, major2: the majors' rollers grip along (1, 1) and the minors' along (1, -1).
+            // The minor motors turn the other way for the robot to go forward, like on the real robot.
+            setWheel(0, a, -b, 1, ROOT_HALF, ROOT_HALF);
+            setWheel(1, -a, -b, -1, ROOT_HALF, -ROOT_HALF);
+            setWheel(2, a, b, -1, ROOT_HALF, -ROOT_HALF);
+            setWheel(3, -a, b, 1, ROOT_HALF, ROOT_HALF);
+        } else {
+            setWheel(0, -a, b, 1, 0, 1);
+            setWheel(1, -a, -b, 1, 0, 1);
+            setWheel(2, a, b, 1, 0, 1);
+            setWheel(3, a, -b, 1, 0, 1);
+        }
+        for (int i = 0; i < 4; i++) {
+            friction[i] = model.getFriction() * Math.max(0, 1 + random.nextGaussian() * noise.frictionFraction);
+            strength[i] = Math.max(0, 1 + random.nextGaussian() * noise.motorFraction);
+        }
+
+        this.restingVoltage = model.getBatteryVoltage() + random.nextGaussian() * noise.batteryVoltage;
+        this.voltage = restingVoltage;
+        this.minVoltage = restingVoltage;
+        this.headingDrift = random.nextGaussian() * noise.headingDrift;
+
+        pose.set(start.x + random.nextGaussian() * noise.startPosition,
+                start.y + random.nextGaussian() * noise.startPosition,
+                Angle.normalize(start.heading + random.nextGaussian() * noise.startHeading));
+    }
+
+    /**
+     * @param rimDirection 1 if the wheel's surface moves forward when it turns forward, -1 if backward
+     */
+    private void setWheel(int i, double x, double y, double rimDirection, double gripX, double gripY) {
+        wheelX[i] = x;
+        wheelY[i] = y;
+        rimDirections[i] = rimDirection;
+        this.gripX[i] = gripX;
+        this.gripY[i] = gripY;
+    }
+
+    @Override
+    public void setWheelPowers(double major1, double minor1, double minor2, double major2) {
+        if (!mecanum) {
+            throw new IllegalStateException("setWheelPowers is for mecanum drives; use setTankPowers");
+        }
+        powers[0] = clip(major1);
+        powers[1] = clip(minor1);
+        powers[2] = clip(minor2);
+        powers[3] = clip(major2);
+    }
+
+    /**
+     * Sets the power of each side of a tank drive
+     * @param left the power for the left motors, from -1 to 1
+     * @param right the power for the right motors, from -1 to 1
+     */
+    public void setTankPowers(double left, double right) {
+        if (mecanum) {
+            throw new IllegalStateException("setTankPowers is for tank drives; use setWheelPowers");
+        }
+        powers[0] = powers[1] = clip(left);
+        powers[2] = powers[3] = clip(right);
+    }
+
+    @Override
+    public void stopMoving() {
+        for (int i = 0; i < 4; i++) {
+            powers[i] = 0;
+        }
+    }
+
+    private static double clip(double power) {
+        return Math.max(-1, Math.min(1, power));
+    }
+
+    /**
+     * Moves the simulation forward, in steps no longer than the model's physics step
+     * @param seconds how long to simulate, i.e. one loop
+     */
+    public void step(double seconds) {
+        int steps = Math.max(1, (int) Math.ceil(seconds / model.getPhysicsStep() - 1e-9));
+        double h = seconds / steps;
+        for (int i = 0; i < steps; i++) {
+            integrate(h);
+        }
+    }
+
+    private void integrate(double h) {
+        // The robot faces along its y axis, so its x axis points a quarter turn clockwise of the heading
+        double frame = pose.heading - Math.PI / 2;
+        double cos = Math.cos(frame);
+        double sin = Math.sin(frame);
+        // Velocity in the robot's frame
+        double robotVx = vx * cos + vy * sin;
+        double robotVy = -vx * sin + vy * cos;
+
+        double forceX = 0;
+        double forceY = 0;
+        double torque = 0;
+        double totalCurrent = 0;
+        for (int i = 0; i < 4; i++) {
+            // How fast the contact patch moves over the carpet
+            double surface = wheelRadius * wheelSpeeds[i];
+            double slipX = robotVx - omega * wheelY[i];
+            double slipY = robotVy + omega * wheelX[i] - surface * rimDirections[i];
+            double along = slipX * gripX[i] + slipY * gripY[i];
+            double across = -slipX * gripY[i] + slipY * gripX[i];
+
+            double grip = -model.getTractionStiffness() * along;
+            double side = -lateralStiffness * across;
+            double fx = grip * gripX[i] - side * gripY[i];
+            double fy = grip * gripY[i] + side * gripX[i];
+            double limit = friction[i] * normalForce;
+            double magnitude = Math.hypot(fx, fy);
+            if (magnitude > limit) {
+                fx *= limit / magnitude;
+                fy *= limit / magnitude;
+            }
+            maxSlip = Math.max(maxSlip, mecanum ? Math.abs(along) : Math.hypot(along, across));
+
+            forceX += fx;
+            forceY += fy;
+            torque += wheelX[i] * fy - wheelY[i] * fx;
+
+            double load = powers[i] * voltage / NOMINAL_VOLTAGE - wheelSpeeds[i] / gearRatio / freeSpeed;
+            double motorTorque = strength[i] * stallTorque * load;
+            totalCurrent += powers[i] * stallCurrent * load;
+
+            // The carpet pushes back on the wheel as hard as the wheel pushes the robot
+            double wheelTorque = motorTorque / gearRatio - wheelRadius * fy * rimDirections[i];
+            wheelSpeeds[i] += wheelTorque / wheelInertia * h;
+            wheelAngles[i] += wheelSpeeds[i] * h;
+        }
+
+        double ax = (forceX * cos - forceY * sin) / mass;
+        double ay = (forceX * sin + forceY * cos) / mass;
+        vx += ax * h;
+        vy += ay * h;
+        omega += torque / momentOfInertia * h;
+        pose.x += vx * h;
+        pose.y += vy * h;
+        pose.heading = Angle.normalize(pose.heading + omega * h);
+
+        // Braking motors can push current back, but not more than the others draw
+        current = Math.max(0, totalCurrent);
+        ampHours += current * h / 3600;
+        voltage = restingVoltage - model.getVoltsPerAmpHour() * ampHours - model.getBatteryResistance() * current;
+        energy += voltage * current * h;
+        minVoltage = Math.min(minVoltage, voltage);
+        time += h;
+    }
+
+    /**
+     * @param result where to put where the robot really is, in m
+     * @return result
+     */
+    public Pose2d getPose(Pose2d result) {
+        return result.set(pose);
+    }
+
+    /**
+     * Gets where the robot thinks it is, i.e. from odometry or Vuforia, with the measurement noise added
+     * @param result where to put the measured pose, in m
+     * @return result
+     */
+    public Pose2d getMeasuredPose(Pose2d result) {
+        return result.set(pose.x + random.nextGaussian() * noise.positionMeasurement,
+                pose.y + random.nextGaussian() * noise.positionMeasurement,
+                getHeading());
+    }
+
+    /**
+     * @return the heading an IMU would read, with drift and measurement noise, in radians
+     */
+    public double getHeading() {
+        return Angle.normalize(pose.heading + headingDrift * time + random.nextGaussian() * noise.headingMeasurement);
+    }
+
+    /**
+     * @param result where to put the velocity in the field's frame: dx and dy in m/s, and dtheta in rad/s
+     * @return result
+     */
+    public Twist2d getVelocity(Twist2d result) {
+        return result.set(vx, vy, omega);
+    }
+
+    /**
+     * Reads the motor encoders
+     * @param ticks where to put each motor's position, in encoder ticks, in the same order as the powers
+     */
+    public void getWheelPositions(int[] ticks) {
+        for (int i = 0; i < 4; i++) {
+            ticks[i] = (int) Math.round(wheelAngles[i] / gearRatio * countsPerRadian);
+        }
+    }
+
+    /**
+     * @return the battery's voltage right now, in V
+     */
+    public double getBatteryVoltage() {
+        return voltage;
+    }
+
+    /**
+     * @return the current drawn from the battery right now, in amps
+     */
+    public double getCurrent() {
+        return current;
+    }
+
+    /**
+     * @return the lowest the battery's voltage has been, in V
+     */
+    public double getMinVoltage() {
+        return minVoltage;
+    }
+
+    /**
+     * @return the energy drawn from the battery so far, in joules
+     */
+    public double getEnergy() {
+        return energy;
+    }
+
+    /**
+     * @return the fastest any wheel has slipped, in m/s
+     */
+    public double getMaxSlip() {
+        return maxSlip;
+    }
+
+    /**
+     * @return the simulated time so far, in seconds
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * @return the simulated time so far, in nanoseconds, i.e. for {@link org.firstinspires.ftc.micdsrobotics.robotplus.path.HolonomicFollower#update(Pose2d, long)}
+     */
+    public long getNanos() {
+        return (long) (time * 1e9);
+    }
+
+    public RobotModel getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,35 @@
+package org.firstinspires.ftc.micdsrobotics.robotplus.simulation;
+
+/**
+ * An autonomous routine that drives a {@link SimulatedRobot}, one loop at a time, the way an OpMode's
+ * loop drives the real one. It shouldn't look at the wall clock; {@link SimulatedRobot#getTime()} and
+ * {@link SimulatedRobot#getNanos()} are the time.
+ * @see BatchSimulator
+ * @since 10/19/26
+ */
+public interface SimulatedRoutine {
+
+    /**
+     * Makes a fresh routine for each run, since a routine keeps its own state
+     */
+    interface Factory {
+        /**
+         * @param run the number of the run, from 0
+         * @return a routine that hasn't started
+         */
+        SimulatedRoutine create(int run);
+    }
+
+    /**
+     * Called once, before the first loop
+     * @param robot the robot
+     */
+    void start(SimulatedRobot robot);
+
+    /**
+     * Runs one loop: read the robot, and set its powers
+     * @param robot the robot
+     * @return whether the routine is still running; false once it is done
+     */
+    boolean loop(SimulatedRobot robot);
+}